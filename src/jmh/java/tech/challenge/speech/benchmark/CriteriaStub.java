@@ -0,0 +1,42 @@
+package tech.challenge.speech.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+// Answers every Criteria API call with a shared no-op proxy of the declared return type, so a benchmark measures
+// the predicate building in SpeechSpecification rather than Hibernate's expression tree.
+final class CriteriaStub implements InvocationHandler {
+
+    private static final CriteriaStub HANDLER = new CriteriaStub();
+
+    private static final ClassValue<Object> PROXIES = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            return Proxy.newProxyInstance(CriteriaStub.class.getClassLoader(), new Class<?>[]{type}, HANDLER);
+        }
+    };
+
+    private CriteriaStub() {
+    }
+
+    static <T> T of(Class<T> type) {
+        return type.cast(PROXIES.get(type));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "CriteriaStub";
+            };
+        }
+        if (returnType.isInterface()) {
+            return PROXIES.get(returnType);
+        }
+        return returnType == boolean.class ? Boolean.FALSE : null;
+    }
+}
@@ -0,0 +1,48 @@
+package tech.challenge.speech.benchmark;
+
+import tech.challenge.speech.model.entity.Speech;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+final class SpeechFixtures {
+
+    private static final OffsetDateTime FIRST_DATE = OffsetDateTime.of(2024, 1, 1, 9, 30, 0, 0, ZoneOffset.ofHours(2));
+    private static final String CONTENT = "Ladies and gentlemen, today we discuss the economy, public health and education. "
+            .repeat(8);
+
+    private SpeechFixtures() {
+    }
+
+    static List<Speech> speeches(int count) {
+        List<Speech> speeches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            speeches.add(speech(i));
+        }
+        return speeches;
+    }
+
+    static Speech speech(long id) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        speech.setAuthor("Author " + id % 100);
+        speech.setContent(CONTENT + id);
+        speech.setKeywords(keywords(4));
+        speech.setSpeechDate(FIRST_DATE.plusDays(id));
+        speech.setCreateDateTime(FIRST_DATE.plusDays(id));
+        speech.setUpdateDateTime(FIRST_DATE.plusDays(id));
+        return speech;
+    }
+
+    static Set<String> keywords(int count) {
+        Set<String> keywords = new LinkedHashSet<>(count);
+        for (int i = 0; i < count; i++) {
+            keywords.add("Keyword-" + i);
+        }
+        return keywords;
+    }
+}
@@ -0,0 +1,43 @@
+package tech.challenge.speech.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeechKeywordsBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int keywordCount;
+
+    private Set<String> keywords;
+
+    @Setup
+    public void setUp() {
+        keywords = SpeechFixtures.keywords(keywordCount);
+    }
+
+    @Benchmark
+    public SpeechDTO setKeywords() {
+        SpeechDTO speechDTO = new SpeechDTO();
+        speechDTO.setKeywords(keywords);
+        return speechDTO;
+    }
+}
@@ -0,0 +1,60 @@
+package tech.challenge.speech.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.challenge.speech.mapper.SpeechMapper;
+import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.entity.Speech;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeechMappingBenchmark {
+
+    private Speech speech;
+
+    @Setup
+    public void setUp() {
+        speech = SpeechFixtures.speech(1);
+    }
+
+    @Benchmark
+    public SpeechDTO toDto() {
+        return SpeechMapper.INSTANCE.toDto(speech);
+    }
+
+    @Benchmark
+    public List<SpeechDTO> speechEntityToDtoList(Page page) {
+        return SpeechMapper.INSTANCE.speechEntityToDtoList(page.speeches);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        // a single speech, the default page and the largest page
+        @Param({"1", "50", "500"})
+        private int size;
+
+        private List<Speech> speeches;
+
+        @Setup
+        public void setUp() {
+            speeches = SpeechFixtures.speeches(size);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package tech.challenge.speech.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import tech.challenge.speech.SpeechApplication;
+import tech.challenge.speech.mapper.SpeechMapper;
+import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.ContentSelection;
+import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechSpecification;
+import tech.challenge.speech.service.SpeechPartitions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One page read through managed entities in a read-write transaction (the previous read path) against the same
+// page selected into SpeechView records with array_agg keywords in a read-only one, with full content and as
+// summaries with a 200 character excerpt. Needs a database: a PostgreSQL container by default, or
+// -Pjmh.args='SpeechReadPath -jvmArgsAppend -Dbench.jdbc-url=jdbc:postgresql://...'.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpeechReadPathBenchmark {
+
+    private static final int SPEECHES = 2_000;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private PostgreSQLContainer<?> postgresContainer;
+    private ConfigurableApplicationContext context;
+    private SpeechRepository speechRepository;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String jdbcUrl = System.getProperty("bench.jdbc-url");
+        String username = System.getProperty("bench.jdbc-username", "app_user");
+        String password = System.getProperty("bench.jdbc-password", "");
+        if (jdbcUrl == null) {
+            postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgresContainer.start();
+            jdbcUrl = postgresContainer.getJdbcUrl();
+            username = postgresContainer.getUsername();
+            password = postgresContainer.getPassword();
+        }
+        context = new SpringApplicationBuilder(SpeechApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--logging.level.root=WARN");
+        speechRepository = context.getBean(SpeechRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // tops the table up once, speeches from an earlier run against the same database are reused
+        long missing = SPEECHES - speechRepository.count();
+        if (missing > 0) {
+            List<Speech> speeches = SpeechFixtures.speeches((int) missing);
+            speeches.forEach(speech -> {
+                speech.setContent(speech.getContent() + " " + System.nanoTime());
+                speech.setId(null);
+            });
+            // saved past the service, which would otherwise create the partitions of their years
+            context.getBean(SpeechPartitions.class).ensureFor(speeches.stream().map(Speech::getSpeechDate).toList());
+            readWriteTransaction.executeWithoutResult(status -> speechRepository.saveAll(speeches));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (postgresContainer != null) {
+            postgresContainer.stop();
+        }
+    }
+
+    @Benchmark
+    public List<SpeechDTO> entities() {
+        return readWriteTransaction.execute(status -> SpeechMapper.INSTANCE.speechEntityToDtoList(speechRepository.findBy(
+                Specification.<Speech>where(null), query -> query
+                        .sortBy(SpeechSpecification.KEYSET_ORDER)
+                        .limit(pageSize)
+                        .all())));
+    }
+
+    @Benchmark
+    public List<SpeechDTO> projections() {
+        return readOnlyTransaction.execute(status -> SpeechMapper.INSTANCE.viewToDtoList(speechRepository.findViews(
+                Specification.where(null), SpeechSpecification.KEYSET_ORDER, pageSize, ContentSelection.FULL)));
+    }
+
+    @Benchmark
+    public List<SpeechDTO> summaries() {
+        return readOnlyTransaction.execute(status -> SpeechMapper.INSTANCE.viewToDtoList(speechRepository.findViews(
+                Specification.where(null), SpeechSpecification.KEYSET_ORDER, pageSize, ContentSelection.excerpt(200))));
+    }
+}
@@ -0,0 +1,75 @@
+package tech.challenge.speech.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tech.challenge.speech.config.ResponseFormatsConfig;
+import tech.challenge.speech.mapper.SpeechMapper;
+import tech.challenge.speech.model.dto.ApiResponseWrapper;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static tech.challenge.speech.common.Constants.SPEECHES_RETRIEVED;
+
+// Writing and reading one page in each negotiated format, with the mappers configured as the converters are.
+// The payload size of each format is printed when its trial starts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeechSerializationBenchmark {
+
+    private static final TypeReference<ApiResponseWrapper<List<SpeechDTO>>> PAGE = new TypeReference<>() {
+    };
+
+    @Param({"1", "50", "500"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseWrapper<List<SpeechDTO>> response;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ResponseFormatsConfig formats = new ResponseFormatsConfig();
+        // configured the way Spring Boot configures the ObjectMapper behind the REST controllers
+        objectMapper = switch (format) {
+            case "cbor" -> formats.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            case "smile" -> formats.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<SpeechDTO> speeches = SpeechMapper.INSTANCE.speechEntityToDtoList(SpeechFixtures.speeches(size));
+        response = new ApiResponseWrapper<>(200, SPEECHES_RETRIEVED, speeches, null, "bmV4dA", null);
+        payload = objectMapper.writeValueAsBytes(response);
+        System.out.printf("%s page of %d speech/es: %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponseWrapper<List<SpeechDTO>> deserializePage() throws IOException {
+        return objectMapper.readValue(payload, PAGE);
+    }
+}
@@ -0,0 +1,75 @@
+package tech.challenge.speech.benchmark;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechSpecification;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeechSpecificationBenchmark {
+
+    private static final OffsetDateTime START_DATE = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private Root<Speech> root;
+    private CriteriaQuery<?> query;
+    private CriteriaBuilder builder;
+    private Set<String> keywords;
+    private Speech newSpeech;
+    private Speech existingSpeech;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        root = CriteriaStub.of(Root.class);
+        query = CriteriaStub.of(CriteriaQuery.class);
+        builder = CriteriaStub.of(CriteriaBuilder.class);
+        keywords = SpeechFixtures.keywords(3);
+        newSpeech = SpeechFixtures.speech(1);
+        newSpeech.setId(null);
+        existingSpeech = SpeechFixtures.speech(2);
+    }
+
+    @Benchmark
+    public Predicate filterSpeechesByAllCriteria() {
+        return SpeechSpecification.filterSpeeches("Author", "economy", START_DATE, START_DATE.plusYears(1), keywords)
+                .toPredicate(root, query, builder);
+    }
+
+    @Benchmark
+    public Predicate filterSpeechesByAuthor() {
+        return SpeechSpecification.filterSpeeches("Author", null, null, null, null)
+                .toPredicate(root, query, builder);
+    }
+
+    @Benchmark
+    public Predicate checkForDuplicateOfNewSpeech() {
+        return SpeechSpecification.checkForDuplicate(newSpeech).toPredicate(root, query, builder);
+    }
+
+    @Benchmark
+    public Predicate checkForDuplicateOfExistingSpeech() {
+        return SpeechSpecification.checkForDuplicate(existingSpeech).toPredicate(root, query, builder);
+    }
+}
@@ -0,0 +1,45 @@
+package tech.challenge.speech.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tech.challenge.speech.SpeechApplication;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+// The application on a random port against the load database, with request logging turned down
+// so the console does not become the bottleneck.
+final class LoadApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private LoadApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static LoadApplication start(LoadDatabase database, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + database.jdbcUrl(),
+                "--spring.datasource.username=" + database.username(),
+                "--spring.datasource.password=" + database.password(),
+                "--logging.level.root=WARN",
+                "--logging.level.tech.challenge.speech=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new LoadApplication(new SpringApplicationBuilder(SpeechApplication.class).run(args.toArray(String[]::new)));
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
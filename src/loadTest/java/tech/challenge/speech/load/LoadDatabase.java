@@ -0,0 +1,33 @@
+package tech.challenge.speech.load;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// One database per load-test JVM, so the synthetic dataset is seeded once for all load tests.
+// -Dload.jdbc-url points the run at an existing database instead of a container.
+record LoadDatabase(String jdbcUrl, String username, String password) {
+
+    private static LoadDatabase instance;
+
+    static synchronized LoadDatabase get() {
+        if (instance == null) {
+            instance = start();
+        }
+        return instance;
+    }
+
+    private static LoadDatabase start() {
+        String jdbcUrl = System.getProperty("load.jdbc-url");
+        if (jdbcUrl != null) {
+            return new LoadDatabase(jdbcUrl,
+                    System.getProperty("load.jdbc-username", "app_user"),
+                    System.getProperty("load.jdbc-password", ""));
+        }
+        // stopped by the Testcontainers reaper when the JVM exits
+        PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+                .withDatabaseName("app_db")
+                .withUsername("app_user")
+                .withPassword("Beyond80.Bucks");
+        postgresContainer.start();
+        return new LoadDatabase(postgresContainer.getJdbcUrl(), postgresContainer.getUsername(), postgresContainer.getPassword());
+    }
+}
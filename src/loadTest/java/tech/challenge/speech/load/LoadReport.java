@@ -0,0 +1,57 @@
+package tech.challenge.speech.load;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+record LoadReport(String name, int targetRate, long durationSeconds, List<OperationReport> operations,
+                  OperationReport total, @JsonIgnore Histogram responseTime) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    // <name>.json with the summary, <name>.hgrm with the full response time distribution for plotting
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        OBJECT_MAPPER.writeValue(directory.resolve(name + ".json").toFile(), this);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+            responseTime.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    static void write(Path directory, String name, List<LoadReport> reports) throws IOException {
+        Files.createDirectories(directory);
+        OBJECT_MAPPER.writeValue(directory.resolve(name + ".json").toFile(), reports);
+    }
+
+    @Override
+    public String toString() {
+        return "%s: target %d/s, achieved %.0f/s, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, errors %d, dropped %d".formatted(
+                name, targetRate, total.throughput(), total.responseTime().p50Millis(), total.responseTime().p99Millis(),
+                total.responseTime().p999Millis(), total.serverErrors() + total.failures(), total.dropped());
+    }
+
+    record OperationReport(String operation, long requests, long ok, long clientErrors, long serverErrors,
+                           long failures, long dropped, double throughput,
+                           Percentiles responseTime, Percentiles serviceTime) {
+    }
+
+    record Percentiles(double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        static Percentiles of(Histogram micros) {
+            return new Percentiles(
+                    micros.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    micros.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    micros.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    micros.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    micros.getMaxValue() / MICROS_PER_MILLI);
+        }
+    }
+}
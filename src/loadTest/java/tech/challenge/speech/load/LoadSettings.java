@@ -0,0 +1,25 @@
+package tech.challenge.speech.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// -Dload.* system properties, forwarded by the loadTest Gradle task
+final class LoadSettings {
+
+    static final long DATASET_SIZE = Long.getLong("load.dataset-size", 1_000_000);
+    static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    static final Path REPORT_DIR = Path.of(System.getProperty("load.report-dir", "build/reports/load"));
+
+    private LoadSettings() {
+    }
+
+    static List<Integer> integers(String name, String defaultValue) {
+        return Arrays.stream(System.getProperty(name, defaultValue).split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+}
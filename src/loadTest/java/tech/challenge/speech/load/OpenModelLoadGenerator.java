@@ -0,0 +1,157 @@
+package tech.challenge.speech.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model driver: requests are released on a fixed arrival schedule however slowly earlier ones complete,
+// each on its own virtual thread. Response time is taken from the scheduled send time rather than the actual
+// one, so a stalled server is charged for every request it held back (coordinated omission correction).
+// Service time, from the actual send, is recorded alongside to show the queueing in between.
+final class OpenModelLoadGenerator {
+
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 10_000);
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+
+    OpenModelLoadGenerator(HttpClient httpClient, Workload workload) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+    }
+
+    LoadReport run(String name, int ratePerSecond, Duration warmup, Duration duration) {
+        final double nanosPerRequest = 1_000_000_000.0 / ratePerSecond;
+        final Map<Workload.Operation, OperationStats> stats = new EnumMap<>(Workload.Operation.class);
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            final long start = System.nanoTime();
+            final long measureFrom = start + warmup.toNanos();
+            final long end = measureFrom + duration.toNanos();
+            for (long i = 0; ; i++) {
+                final long scheduled = start + (long) (i * nanosPerRequest);
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                final Workload.Operation operation = workload.next();
+                final OperationStats operationStats = scheduled >= measureFrom ? stats.get(operation) : null;
+                if (!inFlight.tryAcquire()) {
+                    // the client cannot keep the schedule without unbounded memory, so the request counts as dropped
+                    if (operationStats != null) {
+                        operationStats.dropped.increment();
+                    }
+                    continue;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(operation, scheduled, operationStats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return report(name, ratePerSecond, duration, stats);
+    }
+
+    private void send(Workload.Operation operation, long scheduled, OperationStats stats) {
+        long sent = System.nanoTime();
+        int status;
+        try {
+            status = httpClient.send(workload.request(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (stats != null) {
+            long completed = System.nanoTime();
+            stats.record(status, (completed - scheduled) / 1_000, (completed - sent) / 1_000);
+        }
+    }
+
+    private static LoadReport report(String name, int ratePerSecond, Duration duration,
+                                     Map<Workload.Operation, OperationStats> stats) {
+        double seconds = duration.toMillis() / 1000.0;
+        Histogram totalResponseTime = new Histogram(3);
+        Histogram totalServiceTime = new Histogram(3);
+        List<LoadReport.OperationReport> operations = new ArrayList<>();
+        long ok = 0, clientErrors = 0, serverErrors = 0, failures = 0, dropped = 0;
+
+        for (Map.Entry<Workload.Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            Histogram responseTime = operationStats.responseTime.getIntervalHistogram();
+            Histogram serviceTime = operationStats.serviceTime.getIntervalHistogram();
+            if (responseTime.getTotalCount() == 0 && operationStats.dropped.sum() == 0) {
+                continue;
+            }
+            totalResponseTime.add(responseTime);
+            totalServiceTime.add(serviceTime);
+            LoadReport.OperationReport report = operationStats.report(entry.getKey().name(), seconds, responseTime, serviceTime);
+            operations.add(report);
+            ok += report.ok();
+            clientErrors += report.clientErrors();
+            serverErrors += report.serverErrors();
+            failures += report.failures();
+            dropped += report.dropped();
+        }
+
+        LoadReport.OperationReport total = new LoadReport.OperationReport("TOTAL", totalResponseTime.getTotalCount(),
+                ok, clientErrors, serverErrors, failures, dropped, ok / seconds,
+                LoadReport.Percentiles.of(totalResponseTime), LoadReport.Percentiles.of(totalServiceTime));
+        return new LoadReport(name, ratePerSecond, duration.toSeconds(), operations, total, totalResponseTime);
+    }
+
+    private static final class OperationStats {
+        // microseconds, auto-resizing, three significant digits
+        private final Recorder responseTime = new Recorder(3);
+        private final Recorder serviceTime = new Recorder(3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        void record(int status, long responseMicros, long serviceMicros) {
+            responseTime.recordValue(responseMicros);
+            serviceTime.recordValue(serviceMicros);
+            if (status < 0) {
+                failures.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            } else {
+                ok.increment();
+            }
+        }
+
+        LoadReport.OperationReport report(String name, double seconds, Histogram responseTime, Histogram serviceTime) {
+            return new LoadReport.OperationReport(name, responseTime.getTotalCount(),
+                    ok.sum(), clientErrors.sum(), serverErrors.sum(), failures.sum(), dropped.sum(), ok.sum() / seconds,
+                    LoadReport.Percentiles.of(responseTime), LoadReport.Percentiles.of(serviceTime));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package tech.challenge.speech.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.challenge.speech.service.SpeechAuthorIndex;
+import tech.challenge.speech.service.SpeechKeywordIndex;
+import tech.challenge.speech.service.SpeechPartitions;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives the mixed workload at each -Dload.rates arrival rate and writes the latency report for every rate
+// to build/reports/load/open-model-<rate>.json and .hgrm.
+class OpenModelLoadTest {
+
+    private static LoadApplication application;
+    private static ExecutorService clientExecutor;
+    private static HttpClient httpClient;
+    private static OpenModelLoadGenerator generator;
+
+    @BeforeAll
+    static void startApplication() {
+        application = LoadApplication.start(LoadDatabase.get());
+        SyntheticDataset.IdRange ids = SyntheticDataset.seed(application.getBean(JdbcTemplate.class),
+                application.getBean(SpeechPartitions.class), LoadSettings.DATASET_SIZE);
+        // seeded in SQL behind the application's back
+        application.getBean(SpeechKeywordIndex.class).rebuild();
+        application.getBean(SpeechAuthorIndex.class).rebuild();
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        generator = new OpenModelLoadGenerator(httpClient, new Workload(application.baseUri(), ids));
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        httpClient.close();
+        clientExecutor.close();
+        application.close();
+    }
+
+    static List<Integer> rates() {
+        return LoadSettings.integers("load.rates", "1000,10000,100000");
+    }
+
+    @ParameterizedTest(name = "{0} requests/s")
+    @MethodSource("rates")
+    void shouldReportLatenciesAtAFixedArrivalRate(int rate) throws Exception {
+        LoadReport report = generator.run("open-model-" + rate, rate, LoadSettings.WARMUP, LoadSettings.DURATION);
+        report.write(LoadSettings.REPORT_DIR);
+        System.out.println(report);
+
+        assertTrue(report.total().ok() > 0);
+    }
+}
@@ -0,0 +1,140 @@
+package tech.challenge.speech.load;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.challenge.speech.common.SpeechFingerprint;
+import tech.challenge.speech.service.SpeechPartitions;
+
+import java.sql.Connection;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Generates speeches server-side in chunks from generate_series, fingerprints them with SpeechFingerprint like the
+// application does and inserts them back as arrays. Authors and keywords follow a skewed distribution: a few dozen
+// common keywords cover most speeches, with a long tail of rare topic-N ones.
+final class SyntheticDataset {
+
+    static final List<String> COMMON_KEYWORDS = List.of(
+            "economy", "health", "education", "climate", "security", "trade", "energy", "housing",
+            "transport", "innovation", "justice", "defence", "agriculture", "tourism", "culture", "science",
+            "employment", "taxes", "pensions", "migration", "equality", "freedom", "peace", "rights",
+            "technology", "water", "infrastructure", "youth", "family", "sport", "finance", "industry");
+    static final int KEYWORDS = 2_000;
+    static final int AUTHORS = 5_000;
+
+    private static final int CHUNK_SIZE = 50_000;
+
+    private static final String GENERATE_CHUNK = """
+            WITH raw AS (
+                SELECT g AS id,
+                       'Author ' || floor(%2$d * power(random(), 2))::int AS author,
+                       timestamptz '2000-01-01 00:00:00+00' + g * interval '7 minutes' AS speech_date,
+                       ARRAY(SELECT DISTINCT CASE WHEN k < cardinality(%1$s) THEN (%1$s)[k + 1] ELSE 'topic-' || k END
+                             FROM (SELECT floor(%3$d * power(random(), 3))::int AS k
+                                   FROM generate_series(0, g %% 5)) picks) AS keywords,
+                       (SELECT string_agg((%1$s)[1 + floor(random() * cardinality(%1$s))::int], ' ')
+                        FROM generate_series(0, 8 + g %% 24)) AS words
+                FROM generate_series(?::bigint, ?::bigint) AS g
+            )
+            SELECT id, author, speech_date, keywords,
+                   format('Speech %%s by %%s on %%s. Our %%s.', id, author, array_to_string(keywords, ' and '), words) AS content
+            FROM raw
+            """.formatted(
+            COMMON_KEYWORDS.stream().map(keyword -> "'" + keyword + "'").collect(Collectors.joining(",", "ARRAY[", "]")),
+            AUTHORS, KEYWORDS);
+
+    // one statement per chunk, the foreign key of speech_keyword is checked once both inserts are done
+    private static final String INSERT_CHUNK = """
+            WITH inserted AS (
+                INSERT INTO speech (id, content, author, speech_date, content_fingerprint)
+                SELECT * FROM unnest(?::bigint[], ?::text[], ?::text[], ?::timestamptz[], ?::text[])
+            )
+            INSERT INTO speech_keyword (speech_id, keyword, speech_date)
+            SELECT * FROM unnest(?::bigint[], ?::text[], ?::timestamptz[])
+            """;
+
+    private SyntheticDataset() {
+    }
+
+    // tops the speech table up to size rows and returns the range the generated ids were drawn from
+    static IdRange seed(JdbcTemplate jdbcTemplate, SpeechPartitions partitions, long size) {
+        long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM speech", Long.class);
+        long firstId = jdbcTemplate.queryForObject(
+                "SELECT greatest(coalesce(max(id), 0), (SELECT last_value FROM speech_id_seq)) + 1 FROM speech", Long.class);
+        long lastId = firstId + Math.max(size - existing, 0) - 1;
+
+        for (long from = firstId; from <= lastId; from += CHUNK_SIZE) {
+            long to = Math.min(from + CHUNK_SIZE - 1, lastId);
+            List<SeededSpeech> speeches = jdbcTemplate.query(GENERATE_CHUNK, (row, rowNum) -> new SeededSpeech(
+                    row.getLong("id"),
+                    row.getString("author"),
+                    row.getString("content"),
+                    row.getObject("speech_date", OffsetDateTime.class),
+                    List.of((String[]) row.getArray("keywords").getArray())), from, to);
+            // inserted behind the service, which would otherwise create the partitions of their years
+            partitions.ensureFor(speeches.stream().map(SeededSpeech::speechDate).collect(Collectors.toSet()));
+            insert(jdbcTemplate, speeches);
+            System.out.printf("Seeded speech ids %d to %d of %d%n", from, to, lastId);
+        }
+        if (lastId >= firstId) {
+            // hibernate's pooled optimizer hands out the 50 ids up to each nextval, so the next block starts after lastId
+            jdbcTemplate.queryForObject("SELECT setval('speech_id_seq', ?)", Long.class, lastId);
+            jdbcTemplate.execute("ANALYZE speech");
+            jdbcTemplate.execute("ANALYZE speech_keyword");
+        }
+        return new IdRange(
+                jdbcTemplate.queryForObject("SELECT min(id) FROM speech", Long.class),
+                jdbcTemplate.queryForObject("SELECT max(id) FROM speech", Long.class));
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<SeededSpeech> speeches) {
+        List<Long> keywordSpeechIds = new ArrayList<>();
+        List<String> keywords = new ArrayList<>();
+        List<String> keywordSpeechDates = new ArrayList<>();
+        for (SeededSpeech speech : speeches) {
+            for (String keyword : speech.keywords()) {
+                keywordSpeechIds.add(speech.id());
+                keywords.add(keyword);
+                keywordSpeechDates.add(speech.speechDate().toString());
+            }
+        }
+        jdbcTemplate.update(INSERT_CHUNK, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("bigint", speeches.stream().map(SeededSpeech::id).toArray()));
+            statement.setArray(2, connection.createArrayOf("text", speeches.stream().map(SeededSpeech::content).toArray()));
+            statement.setArray(3, connection.createArrayOf("text", speeches.stream().map(SeededSpeech::author).toArray()));
+            statement.setArray(4, connection.createArrayOf("text",
+                    speeches.stream().map(speech -> speech.speechDate().toString()).toArray()));
+            statement.setArray(5, connection.createArrayOf("text", speeches.stream().map(SeededSpeech::fingerprint).toArray()));
+            statement.setArray(6, connection.createArrayOf("bigint", keywordSpeechIds.toArray()));
+            statement.setArray(7, connection.createArrayOf("text", keywords.toArray()));
+            statement.setArray(8, connection.createArrayOf("text", keywordSpeechDates.toArray()));
+        });
+    }
+
+    static String keyword(ThreadLocalRandom random) {
+        int k = (int) (KEYWORDS * Math.pow(random.nextDouble(), 3));
+        return k < COMMON_KEYWORDS.size() ? COMMON_KEYWORDS.get(k) : "topic-" + k;
+    }
+
+    static String author(ThreadLocalRandom random) {
+        return "Author " + (int) (AUTHORS * Math.pow(random.nextDouble(), 2));
+    }
+
+    private record SeededSpeech(long id, String author, String content, OffsetDateTime speechDate, List<String> keywords) {
+
+        String fingerprint() {
+            return SpeechFingerprint.of(author, content, speechDate, Set.copyOf(keywords));
+        }
+    }
+
+    record IdRange(long min, long max) {
+
+        long random(ThreadLocalRandom random) {
+            return random.nextLong(min, max + 1);
+        }
+    }
+}
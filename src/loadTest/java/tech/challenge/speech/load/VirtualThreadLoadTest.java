@@ -0,0 +1,52 @@
+package tech.challenge.speech.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tech.challenge.speech.service.SpeechAuthorIndex;
+import tech.challenge.speech.service.SpeechKeywordIndex;
+import tech.challenge.speech.service.SpeechPartitions;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives the same arrival rate against the application once with platform request threads and once with
+// virtual threads, and writes both reports to build/reports/load/virtual-threads.json.
+class VirtualThreadLoadTest {
+
+    private static final int RATE = Integer.getInteger("load.thread-mode-rate", 2_000);
+
+    @Test
+    void shouldCompareVirtualAndPlatformThreadModes() throws Exception {
+        LoadReport platform = run(false);
+        LoadReport virtual = run(true);
+
+        LoadReport.write(LoadSettings.REPORT_DIR, "virtual-threads", List.of(platform, virtual));
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertTrue(platform.total().ok() > 0);
+        assertTrue(virtual.total().ok() > 0);
+    }
+
+    private LoadReport run(boolean virtualThreads) {
+        try (LoadApplication application = LoadApplication.start(LoadDatabase.get(),
+                "--spring.threads.virtual.enabled=" + virtualThreads);
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .build()) {
+            SyntheticDataset.IdRange ids = SyntheticDataset.seed(application.getBean(JdbcTemplate.class),
+                    application.getBean(SpeechPartitions.class), LoadSettings.DATASET_SIZE);
+            // seeded in SQL behind the application's back
+            application.getBean(SpeechKeywordIndex.class).rebuild();
+            application.getBean(SpeechAuthorIndex.class).rebuild();
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(httpClient, new Workload(application.baseUri(), ids));
+            return generator.run(virtualThreads ? "virtual" : "platform", RATE, LoadSettings.WARMUP, LoadSettings.DURATION);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package tech.challenge.speech.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Weighted mix of reads and writes over the synthetic dataset, e.g. -Dload.mix=list=25,get=30,search=25,create=10,update=10
+final class Workload {
+
+    enum Operation {
+        LIST, GET, SEARCH, CREATE, UPDATE
+    }
+
+    private static final String DEFAULT_MIX = "list=25,get=30,search=25,create=10,update=10";
+    private static final DateTimeFormatter SPEECH_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final SyntheticDataset.IdRange ids;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    // keeps written speeches unique across runs against the same database
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong writes = new AtomicLong();
+
+    Workload(URI baseUri, SyntheticDataset.IdRange ids) {
+        this(baseUri, ids, System.getProperty("load.mix", DEFAULT_MIX));
+    }
+
+    Workload(URI baseUri, SyntheticDataset.IdRange ids, String mix) {
+        this.baseUri = baseUri;
+        this.ids = ids;
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        Arrays.stream(mix.split(","))
+                .map(entry -> entry.trim().split("="))
+                .forEach(entry -> weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.valueOf(entry[1].trim())));
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (roll >= cumulativeWeights[i]) {
+            i++;
+        }
+        return operations[i];
+    }
+
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LIST -> get("/api/speeches?limit=50");
+            case GET -> get("/api/speeches/" + ids.random(random));
+            case SEARCH -> random.nextBoolean()
+                    ? get("/api/speeches/search?limit=50&keywords=" + SyntheticDataset.keyword(random))
+                    : get("/api/speeches/search?limit=50&author=" + encode(SyntheticDataset.author(random)));
+            case CREATE -> builder("/api/speeches")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(speechJson(null, random)))
+                    .build();
+            case UPDATE -> {
+                long id = ids.random(random);
+                yield builder("/api/speeches/" + id)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(speechJson(id, random)))
+                        .build();
+            }
+        };
+    }
+
+    private String speechJson(Long id, ThreadLocalRandom random) {
+        String author = SyntheticDataset.author(random);
+        Set<String> keywords = Set.of(SyntheticDataset.keyword(random));
+        Map<String, Object> speech = new LinkedHashMap<>();
+        if (id != null) {
+            speech.put("id", id);
+        }
+        speech.put("content", "Load speech " + runId + "-" + writes.incrementAndGet() + " by " + author + " on " + keywords);
+        speech.put("author", author);
+        speech.put("keywords", keywords);
+        speech.put("speechDate", OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                .plusMinutes(random.nextInt(1_000_000))
+                .format(SPEECH_DATE_FORMAT));
+        try {
+            return objectMapper.writeValueAsString(speech);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import tech.challenge.speech.common.SpeechFingerprint;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+// The backfill goes through SpeechFingerprint itself instead of restating it in SQL, where lower() follows the
+// LC_CTYPE of the database and keyword order its collation; neither has to agree with toLowerCase(Locale.ROOT) and
+// the UTF-16 order of Java strings, and a single differing character would let a duplicate past the unique index.
+public class V1792281600__Add_Speech_Content_Fingerprint extends BaseJavaMigration {
+
+    private static final String SELECT_SPEECHES = """
+            SELECT s.id, s.author, s.content, s.speech_date,
+                   array_agg(k.keyword) FILTER (WHERE k.keyword IS NOT NULL) AS keywords
+            FROM speech s
+                     LEFT JOIN speech_keyword k ON k.speech_id = s.id
+            GROUP BY s.id
+            """;
+    private static final String UPDATE_FINGERPRINT = "UPDATE speech SET content_fingerprint = ? WHERE id = ?";
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        // Flyway owns the connection and the transaction it runs in
+        final Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE speech ADD COLUMN content_fingerprint VARCHAR(64)");
+        }
+
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(UPDATE_FINGERPRINT)) {
+            // within the transaction a fetch size reads the speeches through a cursor, not all at once
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery(SELECT_SPEECHES)) {
+                int batched = 0;
+                while (rows.next()) {
+                    update.setString(1, fingerprint(rows));
+                    update.setLong(2, rows.getLong("id"));
+                    update.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+                if (batched % BATCH_SIZE != 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE speech ALTER COLUMN content_fingerprint SET NOT NULL");
+            statement.execute("CREATE UNIQUE INDEX uq_speech_content_fingerprint ON speech (content_fingerprint)");
+        }
+    }
+
+    private static String fingerprint(ResultSet row) throws SQLException {
+        final Array keywords = row.getArray("keywords");
+        return SpeechFingerprint.of(
+                row.getString("author"),
+                row.getString("content"),
+                row.getObject("speech_date", OffsetDateTime.class),
+                keywords == null ? Set.of() : Set.of((String[]) keywords.getArray()));
+    }
+}
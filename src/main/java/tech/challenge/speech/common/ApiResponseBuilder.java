@@ -3,17 +3,23 @@ package tech.challenge.speech.common;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import tech.challenge.speech.model.dto.ApiResponseWrapper;
+import tech.challenge.speech.model.dto.CursorPage;
 
 import java.util.List;
 
 public final class ApiResponseBuilder {
 
     public static <T> ResponseEntity<ApiResponseWrapper<T>> buildResponse(HttpStatus status, String message, T data, List<String> errors) {
-        ApiResponseWrapper<T> response = new ApiResponseWrapper<>(status.value(), message, data, errors);
+        ApiResponseWrapper<T> response = new ApiResponseWrapper<>(status.value(), message, data, errors, null, null);
         return ResponseEntity.status(status).body(response);
     }
 
     public static <T> ResponseEntity<ApiResponseWrapper<T>> buildResponse(HttpStatus status, String message, T data) {
         return buildResponse(status, message, data, null);
     }
+
+    public static <T> ResponseEntity<ApiResponseWrapper<List<T>>> buildPageResponse(HttpStatus status, String message, CursorPage<T> page) {
+        ApiResponseWrapper<List<T>> response = new ApiResponseWrapper<>(status.value(), message, page.items(), null, page.nextCursor(), page.facets());
+        return ResponseEntity.status(status).body(response);
+    }
 }
\ No newline at end of file
@@ -7,4 +7,32 @@ public final class Constants {
     public static String SPEECH_UPDATED = "Speech updated successfully";
     public static String SPEECH_DELETED = "Speech deleted successfully";
     public static String ID_CONFLICT_MESSAGE = "Conflict: ID in path does not match ID in request body";
+    public static final String SPEECHES_DELETED = "Speech/es deleted successfully";
+    public static final String SPEECHES_COUNTED = "Speech/es matching the criteria counted, none deleted";
+    public static final String BULK_DELETE_CRITERIA_REQUIRED_MESSAGE = "At least one search criterion is required to delete speeches";
+    public static final String DATE_RANGE_INCOMPLETE_MESSAGE = "startDate and endDate must be given together";
+    public static final String BATCH_PROCESSED = "Batch processed";
+    public static final String BATCH_REPEATED_TARGET_MESSAGE = "Speech is targeted by more than one operation in the batch";
+    public static final String DUPLICATE_SPEECH_MESSAGE = "A speech with the same content, author, date, and keywords already exists.";
+    // the fingerprint index of each yearly partition is uq_speech_content_fingerprint_y<year>
+    public static final String CONTENT_FINGERPRINT_CONSTRAINT = "uq_speech_content_fingerprint";
+    public static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    public static final String AUTHORS_RETRIEVED = "Author/s retrieved successfully";
+    public static final String STATS_RETRIEVED = "Statistics retrieved successfully";
+    public static final String SERVICE_BUSY_MESSAGE = "Too many concurrent requests, please retry later";
+    public static final String SPEECH_ACCEPTED = "Speech accepted for ingestion";
+    public static final String TICKET_RETRIEVED = "Ingestion ticket retrieved successfully";
+    public static final String VERSION_CONFLICT_MESSAGE = "Speech was changed by another request, reload it and retry";
+    public static final String KEYWORDS_REQUIRED_MESSAGE = "Keywords cannot be empty";
+    public static final String INGESTION_QUEUE_FULL_MESSAGE = "Ingestion queue is full, please retry later";
+
+    public static final int DEFAULT_PAGE_LIMIT = 50;
+    public static final int MAX_PAGE_LIMIT = 500;
+    public static final int MAX_BATCH_OPERATIONS = 5000;
+    public static final int DEFAULT_AUTHOR_LIMIT = 10;
+    public static final int MAX_AUTHOR_LIMIT = 100;
+    public static final int DEFAULT_FACET_LIMIT = 10;
+    public static final int MAX_FACET_LIMIT = 100;
+    public static final int MATCHING_IDS_FETCH_SIZE = 10_000;
+    public static final int MAX_EXCERPT_LENGTH = 1000;
 }
@@ -0,0 +1,36 @@
+package tech.challenge.speech.common;
+
+import tech.challenge.speech.exception.BadRequestException;
+import tech.challenge.speech.repository.SpeechView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+public record SpeechCursor(OffsetDateTime speechDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static SpeechCursor of(SpeechView speechView) {
+        return new SpeechCursor(speechView.speechDate(), speechView.id());
+    }
+
+    public String encode() {
+        String raw = speechDate.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SpeechCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            Instant speechDate = Instant.parse(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new SpeechCursor(speechDate.atOffset(ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package tech.challenge.speech.common;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class SpeechFingerprint {
+
+    // V1792281600__Add_Speech_Content_Fingerprint backfills stored speeches through this class, changing the
+    // normalisation leaves their fingerprints behind
+    private static final String FIELD_SEPARATOR = "\u001f";
+    private static final String KEYWORD_SEPARATOR = "\u001e";
+    private static final DateTimeFormatter SPEECH_DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    private SpeechFingerprint() {
+    }
+
+    public static String of(String author, String content, OffsetDateTime speechDate, Set<String> keywords) {
+        String normalizedKeywords = CollectionUtils.emptyIfNull(keywords).stream()
+                .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(KEYWORD_SEPARATOR));
+
+        String normalized = String.join(FIELD_SEPARATOR,
+                StringUtils.defaultString(author).toLowerCase(Locale.ROOT),
+                StringUtils.defaultString(content).toLowerCase(Locale.ROOT),
+                speechDate == null ? "" : speechDate.withOffsetSameInstant(ZoneOffset.UTC)
+                        .truncatedTo(ChronoUnit.MICROS)
+                        .format(SPEECH_DATE_FORMAT),
+                normalizedKeywords);
+
+        return HexFormat.of().formatHex(sha256(normalized));
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
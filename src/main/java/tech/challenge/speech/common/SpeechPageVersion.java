@@ -0,0 +1,50 @@
+package tech.challenge.speech.common;
+
+import tech.challenge.speech.model.dto.CursorPage;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+
+// Validators of a list or search page, derived from the page itself rather than queried: the ids and versions of
+// its speeches, where it continues and its facet counts. Whatever changes the body changes the tag, and a plain GET
+// costs nothing beyond the page it loads anyway.
+public final class SpeechPageVersion {
+
+    private SpeechPageVersion() {
+    }
+
+    // weak like the speech validators, the tag covers every negotiated format and its gzipped form
+    public static String etag(CursorPage<SpeechDTO> page) {
+        StringBuilder state = new StringBuilder();
+        for (SpeechDTO speech : page.items()) {
+            state.append(speech.getId()).append(':')
+                    .append(speech.getVersion()).append(':')
+                    .append(speech.getUpdateDateTime()).append(';');
+        }
+        state.append(page.nextCursor()).append(';').append(page.facets());
+        return "W/\"" + HexFormat.of().formatHex(sha256(state.toString()), 0, 16) + "\"";
+    }
+
+    // the latest update on the page, or -1 for an empty page further down
+    public static long lastModifiedMillis(CursorPage<SpeechDTO> page) {
+        return page.items().stream()
+                .map(SpeechDTO::getUpdateDateTime)
+                .filter(Objects::nonNull)
+                .max(OffsetDateTime::compareTo)
+                .map(updated -> updated.toInstant().toEpochMilli())
+                .orElse(-1L);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
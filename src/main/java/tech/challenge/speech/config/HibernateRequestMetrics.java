@@ -0,0 +1,96 @@
+package tech.challenge.speech.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Hibernate's own statistics are totals per session factory; this counts the entities loaded and the lazy
+// collections fetched while serving each request and records them per endpoint, which is where N+1 shows up.
+@Component
+public class HibernateRequestMetrics extends OncePerRequestFilter
+        implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final ThreadLocal<RequestCounts> COUNTS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public HibernateRequestMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, this);
+        listeners.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestCounts counts = new RequestCounts();
+        COUNTS.set(counts);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            COUNTS.remove();
+            record(request, counts);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestCounts counts = COUNTS.get();
+        if (counts != null) {
+            counts.entitiesLoaded++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestCounts counts = COUNTS.get();
+        if (counts != null) {
+            counts.collectionsFetched++;
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestCounts counts) {
+        // the route template keeps the uri tag bounded, unmatched requests share one series
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("speech.request.entities.loaded")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(counts.entitiesLoaded);
+        DistributionSummary.builder("speech.request.collections.fetched")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(counts.collectionsFetched);
+    }
+
+    private static final class RequestCounts {
+        private long entitiesLoaded;
+        private long collectionsFetched;
+    }
+}
@@ -0,0 +1,58 @@
+package tech.challenge.speech.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured pool with the primary plus one pool per replica. Replica pools start from the
+// primary's spring.datasource.hikari settings and only change the url, the credentials and the pool name.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "speech.read-replicas", name = "enabled")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 SpeechProperties speechProperties,
+                                                 Environment environment,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        SpeechProperties.ReadReplicas readReplicas = speechProperties.getReadReplicas();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : readReplicas.getUrls()) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(url);
+            if (readReplicas.getUsername() != null) {
+                config.setUsername(readReplicas.getUsername());
+                config.setPassword(readReplicas.getPassword());
+            }
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            // only the primary is a bean, so only its pool is picked up by the hikaricp meters on its own
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(SpeechProperties speechProperties) {
+        return new ReadYourWritesFilter(speechProperties.getReadReplicas().getReadYourWrites());
+    }
+}
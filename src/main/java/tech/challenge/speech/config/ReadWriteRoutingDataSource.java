@@ -0,0 +1,82 @@
+package tech.challenge.speech.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Connections are fetched lazily, once the transaction has marked them read-only: read-only transactions then
+// take theirs from the replicas, round-robin, and everything else from the primary. A thread pinned by the
+// read-your-writes filter, or running onPrimary, reads from the primary as well.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        setReadOnlyDataSource(new ReplicaDataSource());
+    }
+
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    // runs the action with every connection it fetches taken from the primary, read-only transactions included
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PINNED_TO_PRIMARY.get() != null) {
+            return action.get();
+        }
+        pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private final class ReplicaDataSource extends AbstractDataSource {
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return target().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return target().getConnection(username, password);
+        }
+
+        private HikariDataSource target() {
+            if (replicas.isEmpty() || PINNED_TO_PRIMARY.get() != null) {
+                return primary;
+            }
+            return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+        }
+    }
+}
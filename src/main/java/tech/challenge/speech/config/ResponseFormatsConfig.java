@@ -0,0 +1,115 @@
+package tech.challenge.speech.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+
+// application/cbor and application/x-jackson-smile for service-to-service callers that ask for them in Accept.
+// Both take the spring.jackson settings of the JSON mapper, but send speech timestamps as epoch milliseconds
+// rather than formatting and parsing the date strings JSON clients get. Boot swaps these beans in for the
+// default converters of the same type, so JSON stays first for requests without a preference.
+@Configuration(proxyBeanMethods = false)
+public class ResponseFormatsConfig implements WebMvcConfigurer {
+
+    // An API response may come as JSON, CBOR or Smile, gzipped or not, under one weak ETag, so a shared cache has to
+    // store it per Accept and Accept-Encoding. Set up front, 304s and errors carry it as well; Tomcat's compression
+    // finds accept-encoding already listed and does not add it again.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new SizedJsonHttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(epochTimestamps(builder.factory(new CBORFactory())));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(epochTimestamps(builder.factory(new SmileFactory())));
+    }
+
+    private static ObjectMapper epochTimestamps(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .mixIn(SpeechDTO.class, EpochTimestamps.class)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+
+    // a mix-in's field annotations replace the @JsonFormat string patterns declared on SpeechDTO
+    abstract static class EpochTimestamps {
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        private OffsetDateTime speechDate;
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        private OffsetDateTime createDateTime;
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        private OffsetDateTime updateDateTime;
+    }
+
+    // Jackson streams JSON without a Content-Length and Tomcat compresses every response of unknown length, so
+    // server.compression.min-response-size would never apply. API responses are bounded pages, buffering them
+    // is cheap; the NDJSON export streams through its own StreamingResponseBody and is not affected.
+    static class SizedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        SizedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+        }
+    }
+}
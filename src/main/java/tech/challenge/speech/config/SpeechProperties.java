@@ -0,0 +1,113 @@
+package tech.challenge.speech.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "speech")
+public class SpeechProperties {
+
+    private Export export = new Export();
+    private Cache cache = new Cache();
+    private Bulkhead bulkhead = new Bulkhead();
+    private KeywordIndex keywordIndex = new KeywordIndex();
+    private FacetIndex facetIndex = new FacetIndex();
+    private ReadReplicas readReplicas = new ReadReplicas();
+    private Ingestion ingestion = new Ingestion();
+    private BulkDelete bulkDelete = new BulkDelete();
+    private Partitions partitions = new Partitions();
+
+    @Data
+    public static class Export {
+        // rows pulled per round trip from the server-side cursor, also the persistence context flush interval
+        private int fetchSize = 500;
+    }
+
+    @Data
+    public static class Cache {
+        private ById byId = new ById();
+        private Search search = new Search();
+
+        @Data
+        public static class ById {
+            private long maximumSize = 10_000;
+            private Duration timeToLive = Duration.ofMinutes(10);
+        }
+
+        @Data
+        public static class Search {
+            // estimated heap taken by cached result pages
+            private DataSize maximumSize = DataSize.ofMegabytes(64);
+            // estimated heap taken by cached facet counts, shared by every page of a search
+            private DataSize facetsMaximumSize = DataSize.ofMegabytes(8);
+            private Duration timeToLive = Duration.ofMinutes(5);
+        }
+    }
+
+    @Data
+    public static class Partitions {
+        // yearly partitions created at startup beyond the current year; other years are created on first write
+        private int yearsAhead = 1;
+    }
+
+    @Data
+    public static class BulkDelete {
+        // speeches deleted per transaction, bounding how long their row locks are held
+        private int chunkSize = 1000;
+    }
+
+    @Data
+    public static class Bulkhead {
+        private boolean enabled = true;
+        // transactions admitted at once; zero sizes the bulkhead to the connection pool
+        private int maxConcurrentCalls = 0;
+        // how long a call may queue for a permit before it is rejected
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class KeywordIndex {
+        private boolean enabled = true;
+        // keyword matches up to this size are sent to the database as an id list, larger ones as the keyword filter
+        private int maxIdsPerQuery = 10_000;
+        // rows pulled per round trip while the index is built at startup
+        private int fetchSize = 10_000;
+    }
+
+    @Data
+    public static class FacetIndex {
+        // rows pulled per round trip while the index is built at startup
+        private int fetchSize = 10_000;
+    }
+
+    @Data
+    public static class ReadReplicas {
+        // off by default, every connection then comes from spring.datasource
+        private boolean enabled = false;
+        // read-only transactions are spread round-robin over these, each with its own pool
+        private List<String> urls = new ArrayList<>();
+        // default to the spring.datasource credentials
+        private String username;
+        private String password;
+        // how long a client that wrote keeps reading from the primary, zero turns stickiness off
+        private Duration readYourWrites = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Ingestion {
+        // speeches accepted with async=true and not yet written; a full queue answers 429
+        private int queueCapacity = 10_000;
+        // a write is flushed once this many speeches are waiting...
+        private int maxBatchSize = 500;
+        // ...or once the oldest of them has waited this long
+        private Duration maxDelay = Duration.ofMillis(50);
+        // how long a ticket's outcome can be looked up after it was last changed
+        private Duration ticketTimeToLive = Duration.ofMinutes(10);
+        private long maximumTickets = 100_000;
+    }
+}
@@ -4,17 +4,43 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.challenge.speech.common.SpeechPageVersion;
 import tech.challenge.speech.model.dto.ApiResponseWrapper;
+import tech.challenge.speech.model.dto.AuthorDTO;
+import tech.challenge.speech.model.dto.BatchItemResultDTO;
+import tech.challenge.speech.model.dto.BatchRequestDTO;
+import tech.challenge.speech.model.dto.BulkDeleteResultDTO;
+import tech.challenge.speech.model.dto.CursorPage;
+import tech.challenge.speech.model.dto.FullTextHitDTO;
+import tech.challenge.speech.model.dto.IngestionTicketDTO;
+import tech.challenge.speech.model.dto.KeywordCountDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.dto.PatchSpeechDTO;
+import tech.challenge.speech.model.dto.PeriodCountDTO;
 import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.dto.SpeechRepresentation;
+import tech.challenge.speech.model.dto.TimelineBucket;
 import tech.challenge.speech.model.dto.UpdateSpeechDTO;
+import tech.challenge.speech.repository.SpeechVersion;
+import tech.challenge.speech.service.SpeechAuthorIndex;
+import tech.challenge.speech.service.SpeechBatchService;
+import tech.challenge.speech.service.SpeechBulkDeleteService;
+import tech.challenge.speech.service.SpeechExportService;
+import tech.challenge.speech.service.SpeechIngestionQueue;
 import tech.challenge.speech.service.SpeechService;
+import tech.challenge.speech.service.SpeechStatsService;
 
+import java.net.URI;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 
+import static tech.challenge.speech.common.ApiResponseBuilder.buildPageResponse;
 import static tech.challenge.speech.common.ApiResponseBuilder.buildResponse;
 import static tech.challenge.speech.common.Constants.*;
 
@@ -25,16 +51,40 @@ import static tech.challenge.speech.common.Constants.*;
 public class SpeechController {
 
     private final SpeechService speechService;
+    private final SpeechBatchService speechBatchService;
+    private final SpeechBulkDeleteService speechBulkDeleteService;
+    private final SpeechExportService speechExportService;
+    private final SpeechAuthorIndex speechAuthorIndex;
+    private final SpeechIngestionQueue speechIngestionQueue;
+    private final SpeechStatsService speechStatsService;
 
+    // List and search validators come from the page itself, so a plain GET runs no query beyond the page; a matching
+    // If-None-Match or If-Modified-Since gets its 304 without the page being serialized or sent.
     @GetMapping
-    public ResponseEntity<ApiResponseWrapper<List<SpeechDTO>>> getAllSpeeches() {
-        List<SpeechDTO> allSpeeches = speechService.getAllSpeeches();
-        log.info("Found {} speech/es.", allSpeeches.size());
-        return buildResponse(HttpStatus.OK, SPEECHES_RETRIEVED, allSpeeches);
+    public ResponseEntity<ApiResponseWrapper<List<SpeechDTO>>> getAllSpeeches(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "FULL") SpeechRepresentation view,
+            @RequestParam(required = false) Integer excerptLength,
+            WebRequest request
+    ) {
+        CursorPage<SpeechDTO> allSpeeches = speechService.getAllSpeeches(cursor, limit, view, excerptLength);
+        if (request.checkNotModified(SpeechPageVersion.etag(allSpeeches), SpeechPageVersion.lastModifiedMillis(allSpeeches))) {
+            log.info("Speeches not modified.");
+            return null;
+        }
+        log.info("Found {} speech/es.", allSpeeches.items().size());
+        return buildPageResponse(HttpStatus.OK, SPEECHES_RETRIEVED, allSpeeches);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponseWrapper<SpeechDTO>> getSpeechById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponseWrapper<SpeechDTO>> getSpeechById(@PathVariable Long id, WebRequest request) {
+        // a missing speech has no validators and falls through to the 404
+        SpeechVersion version = speechService.getSpeechVersion(id);
+        if (version.exists() && request.checkNotModified(version.speechEtag(id), version.lastModifiedMillis())) {
+            log.info("Speech with ID: {} not modified.", id);
+            return null;
+        }
         SpeechDTO speech = speechService.getSpeechById(id);
         log.info("Fetched speech with ID: {}", id);
         return buildResponse(HttpStatus.OK, SPEECHES_RETRIEVED, speech);
@@ -42,15 +92,86 @@ public class SpeechController {
 
     @GetMapping("/search")
     public ResponseEntity<ApiResponseWrapper<List<SpeechDTO>>> searchSpeeches(
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String snippet,
+            @RequestParam(required = false) OffsetDateTime startDate,
+            @RequestParam(required = false) OffsetDateTime endDate,
+            @RequestParam(required = false) Set<String> keywords,
+            @RequestParam(defaultValue = "ANY") KeywordMatch keywordMatch,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Set<String> facets,
+            @RequestParam(required = false) Integer facetLimit,
+            @RequestParam(defaultValue = "FULL") SpeechRepresentation view,
+            @RequestParam(required = false) Integer excerptLength,
+            WebRequest request
+    ) {
+        // like a missing speech, an empty result stays a 404; a repeated search is answered by the search cache
+        CursorPage<SpeechDTO> speeches = speechService.searchSpeeches(
+                author, snippet, startDate, endDate, keywords, keywordMatch, cursor, limit, facets, facetLimit, view,
+                excerptLength);
+        if (request.checkNotModified(SpeechPageVersion.etag(speeches), SpeechPageVersion.lastModifiedMillis(speeches))) {
+            log.info("Speeches not modified.");
+            return null;
+        }
+        log.info("Found {} speech/es.", speeches.items().size());
+        return buildPageResponse(HttpStatus.OK, SPEECHES_RETRIEVED, speeches);
+    }
+
+    @GetMapping("/search/fulltext")
+    public ResponseEntity<ApiResponseWrapper<List<FullTextHitDTO>>> searchFullText(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean headline
+    ) {
+        List<FullTextHitDTO> hits = speechService.searchFullText(q, limit, headline);
+        log.info("Found {} speech/es for full-text query.", hits.size());
+        return buildResponse(HttpStatus.OK, SPEECHES_RETRIEVED, hits);
+    }
+
+    // answered from memory, so it skips the service layer's transaction and database bulkhead
+    @GetMapping("/authors")
+    public ResponseEntity<ApiResponseWrapper<List<AuthorDTO>>> suggestAuthors(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limit
+    ) {
+        List<AuthorDTO> authors = speechAuthorIndex.suggest(prefix, limit);
+        log.info("Found {} author/s.", authors.size());
+        return buildResponse(HttpStatus.OK, AUTHORS_RETRIEVED, authors);
+    }
+
+    @GetMapping("/stats/authors")
+    public ResponseEntity<ApiResponseWrapper<List<AuthorDTO>>> getAuthorStats(@RequestParam(required = false) Integer limit) {
+        List<AuthorDTO> authors = speechStatsService.getAuthorStats(limit);
+        return buildResponse(HttpStatus.OK, STATS_RETRIEVED, authors);
+    }
+
+    @GetMapping("/stats/keywords")
+    public ResponseEntity<ApiResponseWrapper<List<KeywordCountDTO>>> getKeywordStats(@RequestParam(required = false) Integer limit) {
+        List<KeywordCountDTO> keywords = speechStatsService.getKeywordStats(limit);
+        return buildResponse(HttpStatus.OK, STATS_RETRIEVED, keywords);
+    }
+
+    @GetMapping("/stats/timeline")
+    public ResponseEntity<ApiResponseWrapper<List<PeriodCountDTO>>> getTimeline(
+            @RequestParam(defaultValue = "MONTH") TimelineBucket bucket) {
+        List<PeriodCountDTO> timeline = speechStatsService.getTimeline(bucket);
+        return buildResponse(HttpStatus.OK, STATS_RETRIEVED, timeline);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSpeeches(
             @RequestParam(required = false) String author,
             @RequestParam(required = false) String snippet,
             @RequestParam(required = false) OffsetDateTime startDate,
             @RequestParam(required = false) OffsetDateTime endDate,
             @RequestParam(required = false) Set<String> keywords
     ) {
-        List<SpeechDTO> speeches = speechService.searchSpeeches(author, snippet, startDate, endDate, keywords);
-        log.info("Found {} speech/es.", speeches.size());
-        return buildResponse(HttpStatus.OK, SPEECHES_RETRIEVED, speeches);
+        StreamingResponseBody body = outputStream ->
+                speechExportService.exportSpeeches(author, snippet, startDate, endDate, keywords, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping
@@ -60,6 +181,29 @@ public class SpeechController {
         return buildResponse(HttpStatus.CREATED, SPEECH_CREATED, createdSpeech);
     }
 
+    // accepted once validated and queued; the ticket reports whether it was written or rejected as a duplicate
+    @PostMapping(params = "async=true")
+    public ResponseEntity<ApiResponseWrapper<IngestionTicketDTO>> createSpeechAsync(@Valid @RequestBody SpeechDTO speechDTO) {
+        IngestionTicketDTO ticket = speechIngestionQueue.submit(speechDTO);
+        log.info("Queued new speech under ticket: {}", ticket.getTicketId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/speeches/ingestion/" + ticket.getTicketId()))
+                .body(buildResponse(HttpStatus.ACCEPTED, SPEECH_ACCEPTED, ticket).getBody());
+    }
+
+    @GetMapping("/ingestion/{ticketId}")
+    public ResponseEntity<ApiResponseWrapper<IngestionTicketDTO>> getIngestionTicket(@PathVariable String ticketId) {
+        IngestionTicketDTO ticket = speechIngestionQueue.getTicket(ticketId);
+        return buildResponse(HttpStatus.OK, TICKET_RETRIEVED, ticket);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseWrapper<List<BatchItemResultDTO>>> applyBatch(@Valid @RequestBody BatchRequestDTO batchRequestDTO) {
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(batchRequestDTO.getOperations());
+        log.info("Processed batch of {} operation/s.", results.size());
+        return buildResponse(HttpStatus.OK, BATCH_PROCESSED, results);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponseWrapper<SpeechDTO>> updateSpeech(
             @PathVariable Long id, @Valid @RequestBody UpdateSpeechDTO updateSpeechDTO) {
@@ -72,10 +216,35 @@ public class SpeechController {
         return buildResponse(HttpStatus.OK, SPEECH_UPDATED, updatedSpeech);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponseWrapper<SpeechDTO>> patchSpeech(
+            @PathVariable Long id, @Valid @RequestBody PatchSpeechDTO patchSpeechDTO) {
+        SpeechDTO patchedSpeech = speechService.patchSpeech(id, patchSpeechDTO);
+        log.info("Patched speech with ID: {}", id);
+        return buildResponse(HttpStatus.OK, SPEECH_UPDATED, patchedSpeech);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseWrapper<Void>> deleteSpeech(@PathVariable Long id) {
         speechService.deleteSpeech(id);
         log.info("Deleted speech with ID: {}", id);
         return buildResponse(HttpStatus.OK, SPEECH_DELETED, null);
     }
-}
\ No newline at end of file
+
+    // deletes every speech the search criteria match, dryRun=true only counts them
+    @DeleteMapping
+    public ResponseEntity<ApiResponseWrapper<BulkDeleteResultDTO>> deleteSpeeches(
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String snippet,
+            @RequestParam(required = false) OffsetDateTime startDate,
+            @RequestParam(required = false) OffsetDateTime endDate,
+            @RequestParam(required = false) Set<String> keywords,
+            @RequestParam(defaultValue = "ANY") KeywordMatch keywordMatch,
+            @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        BulkDeleteResultDTO result = speechBulkDeleteService.deleteSpeeches(
+                author, snippet, startDate, endDate, keywords, keywordMatch, dryRun);
+        log.info("{} {} speech/es.", dryRun ? "Counted" : "Deleted", result.getCount());
+        return buildResponse(HttpStatus.OK, dryRun ? SPEECHES_COUNTED : SPEECHES_DELETED, result);
+    }
+}
@@ -0,0 +1,37 @@
+package tech.challenge.speech.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+import tech.challenge.speech.service.SpeechPartitions;
+
+import java.util.List;
+import java.util.Map;
+
+// Operator access to the yearly partitions: GET /actuator/speechpartitions lists the attached years,
+// DELETE /actuator/speechpartitions/{year} detaches one, leaving its tables behind as archives.
+@Component
+@Endpoint(id = "speechpartitions")
+@RequiredArgsConstructor
+public class SpeechPartitionsEndpoint {
+
+    private final SpeechPartitions speechPartitions;
+
+    @ReadOperation
+    public Map<String, List<Integer>> years() {
+        return Map.of("years", speechPartitions.getYears());
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Map<String, Integer>> detach(@Selector int year) {
+        if (!speechPartitions.getYears().contains(year)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        speechPartitions.detachYear(year);
+        return new WebEndpointResponse<>(Map.of("detached", year));
+    }
+}
@@ -0,0 +1,44 @@
+package tech.challenge.speech.event;
+
+import org.apache.commons.collections4.CollectionUtils;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechView;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+// before is null for a created speech, after is null for a deleted one
+public record SpeechChangedEvent(Type type, Long id, Snapshot before, Snapshot after) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static SpeechChangedEvent created(Speech speech) {
+        return new SpeechChangedEvent(Type.CREATED, speech.getId(), null, Snapshot.of(speech));
+    }
+
+    public static SpeechChangedEvent updated(Snapshot before, Speech speech) {
+        return new SpeechChangedEvent(Type.UPDATED, speech.getId(), before, Snapshot.of(speech));
+    }
+
+    public static SpeechChangedEvent deleted(Speech speech) {
+        return new SpeechChangedEvent(Type.DELETED, speech.getId(), Snapshot.of(speech), null);
+    }
+
+    // deleted without loading the entity, from the projection selected just before
+    public static SpeechChangedEvent deleted(SpeechView speech) {
+        return new SpeechChangedEvent(Type.DELETED, speech.id(), new Snapshot(speech.author(), speech.keywords(), speech.speechDate()), null);
+    }
+
+    // copied out of the entity so listeners running after commit never touch the persistence context
+    public record Snapshot(String author, Set<String> keywords, OffsetDateTime speechDate) {
+
+        public static Snapshot of(Speech speech) {
+            return new Snapshot(speech.getAuthor(), Set.copyOf(CollectionUtils.emptyIfNull(speech.getKeywords())),
+                    speech.getSpeechDate());
+        }
+    }
+}
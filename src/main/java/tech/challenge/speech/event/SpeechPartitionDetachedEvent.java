@@ -0,0 +1,5 @@
+package tech.challenge.speech.event;
+
+// the speeches of a whole year left speech without a write event per speech; whatever mirrors them reloads
+public record SpeechPartitionDetachedEvent(int year) {
+}
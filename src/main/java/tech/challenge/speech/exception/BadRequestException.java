@@ -0,0 +1,9 @@
+package tech.challenge.speech.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -1,5 +1,9 @@
 package tech.challenge.speech.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,9 +13,14 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import tech.challenge.speech.model.dto.ApiResponseWrapper;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import static tech.challenge.speech.common.ApiResponseBuilder.buildResponse;
+import static tech.challenge.speech.common.Constants.CONTENT_FINGERPRINT_CONSTRAINT;
+import static tech.challenge.speech.common.Constants.DUPLICATE_SPEECH_MESSAGE;
+import static tech.challenge.speech.common.Constants.UNIQUE_VIOLATION_SQL_STATE;
+import static tech.challenge.speech.common.Constants.VERSION_CONFLICT_MESSAGE;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -32,6 +41,15 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleBadRequestException(BadRequestException ex) {
+        return buildResponse(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                null
+        );
+    }
+
     @ExceptionHandler(DuplicateSpeechException.class)
     public ResponseEntity<ApiResponseWrapper<Void>> handleDuplicateSpeechException(DuplicateSpeechException ex) {
         return buildResponse(
@@ -41,6 +59,33 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponseWrapper<Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        // concurrent inserts that both passed the duplicate check are rejected by the unique fingerprint index,
+        // which PostgreSQL names after the partition the row went to
+        if (ex.getCause() instanceof ConstraintViolationException violation
+                && UNIQUE_VIOLATION_SQL_STATE.equals(violation.getSQLState())
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).startsWith(CONTENT_FINGERPRINT_CONSTRAINT)) {
+            return buildResponse(
+                    HttpStatus.CONFLICT,
+                    DUPLICATE_SPEECH_MESSAGE,
+                    null
+            );
+        }
+        return handleGeneralException(ex);
+    }
+
+    // the speech's version moved on since the client read it, either before or during this update
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return buildResponse(
+                HttpStatus.CONFLICT,
+                VERSION_CONFLICT_MESSAGE,
+                null
+        );
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiResponseWrapper<Void>> handleResourceNotFoundException(NotFoundException ex) {
         return buildResponse(
@@ -50,6 +95,30 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleServiceBusyException(ServiceBusyException ex) {
+        ResponseEntity<ApiResponseWrapper<Void>> response = buildResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                null
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(IngestionQueueFullException.class)
+    public ResponseEntity<ApiResponseWrapper<Void>> handleIngestionQueueFullException(IngestionQueueFullException ex) {
+        ResponseEntity<ApiResponseWrapper<Void>> response = buildResponse(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                null
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseWrapper<Object>> handleGeneralException(Exception ex) {
         return buildResponse(
@@ -0,0 +1,9 @@
+package tech.challenge.speech.exception;
+
+public class IngestionQueueFullException extends RuntimeException {
+
+    public IngestionQueueFullException(String message) {
+        super(message);
+    }
+
+}
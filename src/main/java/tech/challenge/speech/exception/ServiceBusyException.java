@@ -0,0 +1,9 @@
+package tech.challenge.speech.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+}
@@ -6,6 +6,7 @@ import org.mapstruct.factory.Mappers;
 import tech.challenge.speech.model.dto.SpeechDTO;
 import tech.challenge.speech.model.dto.UpdateSpeechDTO;
 import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechView;
 
 import java.util.List;
 
@@ -15,13 +16,22 @@ public interface SpeechMapper {
 
     SpeechMapper INSTANCE = Mappers.getMapper(SpeechMapper.class);
 
+    @Mapping(target = "excerpt", ignore = true)
     SpeechDTO toDto(Speech speech);
 
     List<SpeechDTO> speechEntityToDtoList(List<Speech> speech);
 
+    SpeechDTO viewToDto(SpeechView speechView);
+
+    List<SpeechDTO> viewToDtoList(List<SpeechView> speechViews);
+
+    @Mapping(target = "contentFingerprint", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Speech speechDtoToEntity(SpeechDTO speechDTO);
 
+    @Mapping(target = "contentFingerprint", ignore = true)
     @Mapping(target = "createDateTime", ignore = true)
     @Mapping(target = "updateDateTime", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Speech updateSpeechToEntity(UpdateSpeechDTO updateSpeechDTO);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
@@ -16,4 +17,6 @@ public class ApiResponseWrapper<T> {
     private String message;
     private T data;
     private List<String> errors;
+    private String nextCursor;
+    private Map<String, List<FacetCountDTO>> facets;
 }
\ No newline at end of file
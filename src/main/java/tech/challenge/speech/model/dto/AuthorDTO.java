@@ -0,0 +1,13 @@
+package tech.challenge.speech.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorDTO {
+    private String author;
+    private long speechCount;
+}
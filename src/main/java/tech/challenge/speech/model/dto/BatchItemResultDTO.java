@@ -0,0 +1,21 @@
+package tech.challenge.speech.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO {
+    private int index;
+    private BatchOperationType type;
+    private Long id;
+    private int status;
+    private String message;
+    private List<String> errors;
+}
@@ -0,0 +1,17 @@
+package tech.challenge.speech.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BatchOperationDTO {
+
+    @NotNull(message = "Operation type cannot be null")
+    private BatchOperationType type;
+
+    // target of UPDATE and DELETE operations
+    private Long id;
+
+    // payload of CREATE and UPDATE operations, validated per operation so one bad item does not reject the batch
+    private SpeechDTO speech;
+}
@@ -0,0 +1,7 @@
+package tech.challenge.speech.model.dto;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
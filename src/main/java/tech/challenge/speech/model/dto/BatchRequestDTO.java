@@ -0,0 +1,19 @@
+package tech.challenge.speech.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+import static tech.challenge.speech.common.Constants.MAX_BATCH_OPERATIONS;
+
+@Data
+public class BatchRequestDTO {
+
+    @NotEmpty(message = "Operations cannot be empty")
+    @Size(max = MAX_BATCH_OPERATIONS, message = "Operations cannot exceed " + MAX_BATCH_OPERATIONS)
+    private List<@Valid @NotNull BatchOperationDTO> operations;
+}
@@ -0,0 +1,14 @@
+package tech.challenge.speech.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteResultDTO {
+    // speeches deleted, or on a dry run the speeches that would have been
+    private long count;
+    private boolean dryRun;
+}
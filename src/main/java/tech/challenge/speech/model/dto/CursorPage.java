@@ -0,0 +1,16 @@
+package tech.challenge.speech.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// facets is null unless the search asked for them, and on the pages after the first
+public record CursorPage<T>(List<T> items, String nextCursor, Map<String, List<FacetCountDTO>> facets) {
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+
+    public CursorPage<T> withFacets(Map<String, List<FacetCountDTO>> facets) {
+        return new CursorPage<>(items, nextCursor, facets);
+    }
+}
@@ -0,0 +1,14 @@
+package tech.challenge.speech.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountDTO {
+    // a keyword, an author or a year in UTC
+    private String value;
+    private long speechCount;
+}
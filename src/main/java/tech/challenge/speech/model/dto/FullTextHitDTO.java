@@ -0,0 +1,16 @@
+package tech.challenge.speech.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FullTextHitDTO {
+    private SpeechDTO speech;
+    private float rank;
+    private String headline;
+}
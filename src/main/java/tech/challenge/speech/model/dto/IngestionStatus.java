@@ -0,0 +1,8 @@
+package tech.challenge.speech.model.dto;
+
+public enum IngestionStatus {
+    QUEUED,
+    CREATED,
+    REJECTED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package tech.challenge.speech.model.dto;
+
+public enum KeywordMatch {
+    ANY,
+    ALL
+}
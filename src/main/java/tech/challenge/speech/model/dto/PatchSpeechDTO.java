@@ -0,0 +1,44 @@
+package tech.challenge.speech.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// only the fields present are changed; keywords are added and removed rather than replaced
+@Data
+public class PatchSpeechDTO {
+
+    // the version the change was based on, a speech updated since then is not overwritten
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Content cannot be blank")
+    private String content;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Author cannot be blank")
+    private String author;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
+    private OffsetDateTime speechDate;
+
+    private Set<String> addKeywords;
+
+    private Set<String> removeKeywords;
+
+    public void setAddKeywords(Set<String> addKeywords) {
+        this.addKeywords = lowerCase(addKeywords);
+    }
+
+    public void setRemoveKeywords(Set<String> removeKeywords) {
+        this.removeKeywords = lowerCase(removeKeywords);
+    }
+
+    private static Set<String> lowerCase(Set<String> keywords) {
+        return keywords == null ? null : keywords.stream().map(String::toLowerCase).collect(Collectors.toSet());
+    }
+}
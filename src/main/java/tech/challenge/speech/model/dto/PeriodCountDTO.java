@@ -0,0 +1,14 @@
+package tech.challenge.speech.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodCountDTO {
+    // yyyy-MM for monthly buckets, yyyy for yearly ones, in UTC
+    private String period;
+    private long speechCount;
+}
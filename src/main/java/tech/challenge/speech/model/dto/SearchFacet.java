@@ -0,0 +1,14 @@
+package tech.challenge.speech.model.dto;
+
+import java.util.Locale;
+
+// facets a search can return counts for, named in the facets parameter and the response in lowercase
+public enum SearchFacet {
+    KEYWORDS,
+    AUTHOR,
+    YEAR;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
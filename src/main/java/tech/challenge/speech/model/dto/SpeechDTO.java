@@ -1,6 +1,7 @@
 package tech.challenge.speech.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -15,8 +16,13 @@ public class SpeechDTO {
     private Long id;
 
     @NotEmpty(message = "Content cannot be empty")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
 
+    // the first characters of content, in place of it in SUMMARY lists that ask for an excerpt
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String excerpt;
+
     @NotEmpty(message = "Author cannot be empty")
     private String author;
 
@@ -34,6 +40,9 @@ public class SpeechDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX")
     private OffsetDateTime updateDateTime;
 
+    // assigned by the server; sent back with PATCH (and optionally PUT) to detect concurrent changes
+    private Long version;
+
     public void setKeywords(Set<String> keywords) {
         if (keywords != null) {
             this.keywords = keywords.stream()
@@ -0,0 +1,7 @@
+package tech.challenge.speech.model.dto;
+
+// how list and search responses carry content: all of it, or only the optional excerpt of a SUMMARY
+public enum SpeechRepresentation {
+    FULL,
+    SUMMARY
+}
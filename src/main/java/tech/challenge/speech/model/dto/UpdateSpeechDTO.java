@@ -24,4 +24,7 @@ public class UpdateSpeechDTO {
 
     @NotNull
     private Set<String> keywords;
+
+    // optional, when sent the update is rejected if the speech changed since this version was read
+    private Long version;
 }
\ No newline at end of file
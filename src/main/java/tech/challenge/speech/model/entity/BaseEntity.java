@@ -17,8 +17,10 @@ import java.time.ZoneOffset;
 @MappedSuperclass
 public abstract class BaseEntity implements Serializable {
 
+    // pooled sequence ids keep inserts batchable, unlike IDENTITY which needs a round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "speech_id_seq")
+    @SequenceGenerator(name = "speech_id_seq", sequenceName = "speech_id_seq", allocationSize = 50)
     private Long id;
 
     @CreationTimestamp
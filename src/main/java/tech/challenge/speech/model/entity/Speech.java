@@ -1,19 +1,30 @@
 package tech.challenge.speech.model.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.commons.collections4.CollectionUtils;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import tech.challenge.speech.common.SpeechFingerprint;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static tech.challenge.speech.common.Constants.MAX_PAGE_LIMIT;
 
 @Getter
 @Setter
 @ToString
+// updates write only the columns that changed, a keyword-only change touches just speech_keyword and the version
+@DynamicUpdate
 @Entity
 @Table(name = "speech")
 public class Speech extends BaseEntity {
@@ -24,18 +35,62 @@ public class Speech extends BaseEntity {
     @Column(nullable = false)
     private String author;
 
+    // initialise the keywords of a whole page or export chunk in one query instead of one per speech
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @BatchSize(size = MAX_PAGE_LIMIT)
     @ElementCollection
     @CollectionTable(name = "speech_keyword", joinColumns = @JoinColumn(name = "speech_id"))
-    @Column(name = "keyword")
-    private Set<String> keywords = Collections.emptySet();
+    private Set<SpeechKeyword> keywordRows = new HashSet<>();
 
     @Column(name = "speech_date", nullable = false)
     private OffsetDateTime speechDate;
 
+    @Column(name = "content_fingerprint", nullable = false, length = 64)
+    private String contentFingerprint;
+
+    // bumped by every update, including keyword changes, and checked in its WHERE clause
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public OffsetDateTime getSpeechDate() {
         return speechDate != null ? speechDate.withOffsetSameInstant(ZoneOffset.UTC) : null;
     }
 
+    // A speech moving to another date takes its keyword rows along. They get a new collection, which Hibernate
+    // deletes by speech_id and inserts again after the UPDATE of the speech, so the rows land in the new partition.
+    public void setSpeechDate(OffsetDateTime speechDate) {
+        final boolean moved = !keywordRows.isEmpty() && !Objects.equals(instant(this.speechDate), instant(speechDate));
+        this.speechDate = speechDate;
+        if (moved) {
+            keywordRows = keywordRows.stream()
+                    .map(row -> new SpeechKeyword(row.getKeyword(), speechDate))
+                    .collect(Collectors.toCollection(HashSet::new));
+        }
+    }
+
+    public Set<String> getKeywords() {
+        return keywordRows.stream().map(SpeechKeyword::getKeyword).collect(Collectors.toUnmodifiableSet());
+    }
+
+    // changes the rows in place, so keywords that stay are not written and the others become single-row statements
+    public void setKeywords(Set<String> keywords) {
+        final Collection<String> wanted = CollectionUtils.emptyIfNull(keywords);
+        keywordRows.removeIf(row -> !wanted.contains(row.getKeyword()));
+        final Set<String> present = getKeywords();
+        wanted.stream()
+                .filter(keyword -> !present.contains(keyword))
+                .forEach(keyword -> keywordRows.add(new SpeechKeyword(keyword, speechDate)));
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void refreshContentFingerprint() {
+        this.contentFingerprint = SpeechFingerprint.of(author, content, speechDate, getKeywords());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -43,12 +98,16 @@ public class Speech extends BaseEntity {
         Speech speech = (Speech) o;
         return Objects.equals(content, speech.content) &&
                 Objects.equals(author, speech.author) &&
-                Objects.equals(keywords, speech.keywords) &&
+                Objects.equals(getKeywords(), speech.getKeywords()) &&
                 Objects.equals(speechDate, speech.speechDate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(content, author, keywords, speechDate);
+        return Objects.hash(content, author, getKeywords(), speechDate);
+    }
+
+    private static Object instant(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant() : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package tech.challenge.speech.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+// A row of speech_keyword. It carries the date of its speech, the partition key, so a keyword is inserted with a
+// plain VALUES statement that goes straight to the partition of its year.
+@Getter
+@ToString
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SpeechKeyword implements Serializable {
+
+    @Column(name = "keyword", nullable = false)
+    private String keyword;
+
+    @Column(name = "speech_date", nullable = false)
+    private OffsetDateTime speechDate;
+
+    public SpeechKeyword(String keyword, OffsetDateTime speechDate) {
+        this.keyword = keyword;
+        this.speechDate = speechDate;
+    }
+
+    // dates are compared as instants, rows read back carry another offset than the ones they were written with
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SpeechKeyword that = (SpeechKeyword) o;
+        return Objects.equals(keyword, that.keyword) &&
+                Objects.equals(instant(speechDate), instant(that.speechDate));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(keyword, instant(speechDate));
+    }
+
+    private static Object instant(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant() : null;
+    }
+}
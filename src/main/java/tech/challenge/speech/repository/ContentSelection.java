@@ -0,0 +1,17 @@
+package tech.challenge.speech.repository;
+
+// How much of content a view selects: all of it, nothing, or its first excerptLength characters. An excerpt is cut
+// by substring in the database, which only detoasts the leading slice of a long content.
+public record ContentSelection(boolean fullContent, int excerptLength) {
+
+    public static final ContentSelection FULL = new ContentSelection(true, 0);
+    public static final ContentSelection NONE = new ContentSelection(false, 0);
+
+    public static ContentSelection excerpt(int length) {
+        return new ContentSelection(false, length);
+    }
+
+    public boolean withExcerpt() {
+        return excerptLength > 0;
+    }
+}
@@ -0,0 +1,4 @@
+package tech.challenge.speech.repository;
+
+public record FullTextMatch(Long id, float rank, String headline) {
+}
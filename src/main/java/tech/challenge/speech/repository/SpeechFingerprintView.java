@@ -0,0 +1,4 @@
+package tech.challenge.speech.repository;
+
+public record SpeechFingerprintView(Long id, String contentFingerprint) {
+}
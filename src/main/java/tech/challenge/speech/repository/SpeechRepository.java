@@ -4,5 +4,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import tech.challenge.speech.model.entity.Speech;
 
-public interface SpeechRepository extends JpaRepository<Speech, Long>, JpaSpecificationExecutor<Speech> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+
+public interface SpeechRepository extends JpaRepository<Speech, Long>, JpaSpecificationExecutor<Speech>, SpeechRepositoryCustom {
+
+    List<SpeechFingerprintView> findByContentFingerprintIn(Collection<String> contentFingerprints);
+}
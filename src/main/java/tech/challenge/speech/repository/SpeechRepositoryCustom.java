@@ -0,0 +1,27 @@
+package tech.challenge.speech.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.entity.Speech;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface SpeechRepositoryCustom {
+
+    Stream<Speech> streamAll(Specification<Speech> specification, Sort sort, int fetchSize);
+
+    List<SpeechView> findViews(Specification<Speech> specification, Sort sort, int limit, ContentSelection content);
+
+    Stream<Long> streamIds(Specification<Speech> specification, int fetchSize);
+
+    SpeechVersion findVersion(Specification<Speech> specification);
+
+    List<FacetCountDTO> countKeywords(Specification<Speech> specification, int limit);
+
+    List<Long> deleteAllByIdReturningIds(Collection<Long> ids);
+
+    List<FullTextMatch> searchFullText(String query, int limit, boolean withHeadline);
+}
@@ -0,0 +1,209 @@
+package tech.challenge.speech.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.model.entity.SpeechKeyword;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class SpeechRepositoryCustomImpl implements SpeechRepositoryCustom {
+
+    // the inner query is ranked and limited on idx_speech_content_fulltext before headlines are built for the survivors
+    private static final String FULL_TEXT_SEARCH = """
+            SELECT ranked.id, ranked.rank, %s
+            FROM (SELECT s.id, ts_rank(to_tsvector('english', s.content), query) AS rank, query
+                  FROM speech s, websearch_to_tsquery('english', :query) query
+                  WHERE to_tsvector('english', s.content) @@ query
+                  ORDER BY rank DESC, s.id
+                  LIMIT :limit) ranked
+                     JOIN speech s ON s.id = ranked.id
+            ORDER BY ranked.rank DESC, ranked.id
+            """;
+    // keywords are removed by the ON DELETE CASCADE on speech_keyword, not row by row by Hibernate
+    private static final String DELETE_RETURNING_IDS = "DELETE FROM speech WHERE id IN (:ids) RETURNING id";
+    private static final String HEADLINE = "ts_headline('english', s.content, ranked.query, 'MaxFragments=2, MaxWords=20, MinWords=5')";
+    private static final String NO_HEADLINE = "NULL";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Speech> streamAll(Specification<Speech> specification, Sort sort, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Speech> query = builder.createQuery(Speech.class);
+        Root<Speech> root = query.from(Speech.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        // inside a transaction the PostgreSQL driver turns a positive fetch size into a forward-only server-side cursor
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<SpeechView> findViews(Specification<Speech> specification, Sort sort, int limit, ContentSelection content) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Speech> root = query.from(Speech.class);
+
+        // a correlated array_agg runs once per returned row, so ORDER BY ... LIMIT still stops early on
+        // idx_speech_speech_date instead of aggregating every speech_keyword row before sorting; the date confines
+        // it to the partition of the speech's year
+        Subquery<String[]> aggregatedKeywords = query.subquery(String[].class);
+        Root<Speech> correlated = aggregatedKeywords.correlate(root);
+        Join<Speech, SpeechKeyword> keyword = correlated.join("keywordRows");
+        aggregatedKeywords.select(builder.function("array_agg", String[].class, keyword.get("keyword")))
+                .where(builder.equal(keyword.get("speechDate"), correlated.get("speechDate")));
+
+        // content is unbounded TEXT, a summary leaves it out of the SELECT or reads only its first characters
+        Expression<String> fullContent = content.fullContent() ? root.get("content") : builder.nullLiteral(String.class);
+        Expression<String> excerpt = content.withExcerpt()
+                ? builder.substring(root.get("content"), 1, content.excerptLength())
+                : builder.nullLiteral(String.class);
+
+        query.multiselect(
+                root.get("id"),
+                fullContent,
+                excerpt,
+                root.get("author"),
+                aggregatedKeywords,
+                root.get("speechDate"),
+                root.get("createDateTime"),
+                root.get("updateDateTime"),
+                root.get("version"));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        // scalar rows never enter the persistence context, so there is nothing to snapshot or dirty-check
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> new SpeechView(
+                        row.get(0, Long.class),
+                        row.get(1, String.class),
+                        row.get(2, String.class),
+                        row.get(3, String.class),
+                        keywords(row.get(4, String[].class)),
+                        row.get(5, OffsetDateTime.class),
+                        row.get(6, OffsetDateTime.class),
+                        row.get(7, OffsetDateTime.class),
+                        row.get(8, Long.class)))
+                .toList();
+    }
+
+    @Override
+    public Stream<Long> streamIds(Specification<Speech> specification, int fetchSize) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Speech> root = query.from(Speech.class);
+
+        query.select(root.get("id"));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // read through a server-side cursor like streamAll, the ids are never buffered as a whole
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public SpeechVersion findVersion(Specification<Speech> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Speech> root = query.from(Speech.class);
+
+        query.multiselect(builder.greatest(root.<OffsetDateTime>get("updateDateTime")), builder.count(root));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        return new SpeechVersion(row.get(0, OffsetDateTime.class), row.get(1, Long.class));
+    }
+
+    @Override
+    public List<FacetCountDTO> countKeywords(Specification<Speech> specification, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Speech> root = query.from(Speech.class);
+
+        // the date confines each speech's keywords to the partition of its year
+        Join<Speech, SpeechKeyword> keyword = root.join("keywordRows");
+        Predicate sameDate = builder.equal(keyword.get("speechDate"), root.get("speechDate"));
+        Expression<Long> count = builder.count(root);
+        query.multiselect(keyword.get("keyword"), count)
+                .groupBy(keyword.get("keyword"))
+                .orderBy(builder.desc(count), builder.asc(keyword.get("keyword")));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        query.where(predicate == null ? sameDate : builder.and(predicate, sameDate));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> new FacetCountDTO(row.get(0, String.class), row.get(1, Long.class)))
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> deleteAllByIdReturningIds(Collection<Long> ids) {
+        List<Number> deleted = entityManager.createNativeQuery(DELETE_RETURNING_IDS)
+                .setParameter("ids", ids)
+                .getResultList();
+        return deleted.stream().map(Number::longValue).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FullTextMatch> searchFullText(String query, int limit, boolean withHeadline) {
+        List<Object[]> rows = entityManager.createNativeQuery(FULL_TEXT_SEARCH.formatted(withHeadline ? HEADLINE : NO_HEADLINE))
+                .setParameter("query", query)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new FullTextMatch(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).floatValue(),
+                        (String) row[2]))
+                .toList();
+    }
+
+    // array_agg over no rows is NULL
+    private static Set<String> keywords(String[] keywords) {
+        return keywords == null ? Set.of() : Set.of(keywords);
+    }
+}
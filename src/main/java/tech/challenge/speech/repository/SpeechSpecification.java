@@ -1,52 +1,54 @@
 package tech.challenge.speech.repository;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import tech.challenge.speech.common.SpeechCursor;
+import tech.challenge.speech.common.SpeechFingerprint;
+import tech.challenge.speech.model.dto.KeywordMatch;
 import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.model.entity.SpeechKeyword;
 
 import java.time.OffsetDateTime;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public class SpeechSpecification {
 
     private static final String WILDCARD = "%";
 
+    public static final Sort KEYSET_ORDER = Sort.by("speechDate", "id");
+
     public static Specification<Speech> checkForDuplicate(Speech speech) {
 
+        // one probe on uq_speech_content_fingerprint, excluding the speech itself when it is being updated
         return (root, query, builder) -> {
-            Predicate[] predicates = Stream.of(
-                            StringUtils.isNotBlank(speech.getAuthor())
-                                    ? builder.equal(builder.lower(root.get("author")), speech.getAuthor().toLowerCase())
-                                    : null,
-                            StringUtils.isNotBlank(speech.getContent())
-                                    ? builder.equal(builder.lower(root.get("content")), speech.getContent().toLowerCase())
-                                    : null,
-                            Objects.nonNull(speech.getSpeechDate())
-                                    ? builder.equal(root.get("speechDate"), speech.getSpeechDate())
-                                    : null,
-                            CollectionUtils.isNotEmpty(speech.getKeywords())
-                                    ? builder.equal(builder.size(root.get("keywords")), speech.getKeywords().size())
-                                    : null,
-                            CollectionUtils.isNotEmpty(speech.getKeywords())
-                                    ? builder.and(
-                                    CollectionUtils.emptyIfNull(speech.getKeywords()).stream()
-                                            .map(keyword -> builder.isMember(keyword, root.get("keywords")))
-                                            .toArray(Predicate[]::new))
-                                    : null)
-                    .filter(Objects::nonNull)
-                    .toArray(Predicate[]::new);
+            Predicate sameFingerprint = builder.equal(root.get("contentFingerprint"), SpeechFingerprint.of(
+                    speech.getAuthor(), speech.getContent(), speech.getSpeechDate(), speech.getKeywords()));
 
-            return builder.and(predicates);
+            return Objects.isNull(speech.getId())
+                    ? sameFingerprint
+                    : builder.and(sameFingerprint, builder.notEqual(root.get("id"), speech.getId()));
         };
     }
 
     public static Specification<Speech> filterSpeeches(
             String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate, Set<String> keywords) {
+        return filterSpeeches(author, snippet, startDate, endDate, keywords, KeywordMatch.ANY);
+    }
+
+    public static Specification<Speech> filterSpeeches(String author, String snippet, OffsetDateTime startDate,
+                                                       OffsetDateTime endDate, Set<String> keywords, KeywordMatch keywordMatch) {
 
         return (speech, query, builder) -> {
             Predicate[] predicates = Stream.of(
@@ -57,8 +59,8 @@ public class SpeechSpecification {
                                     ? builder.like(builder.lower(speech.get("content")), WILDCARD + snippet.toLowerCase() + WILDCARD)
                                     : null,
                             CollectionUtils.isNotEmpty(keywords)
-                                    ? builder.or(keywords.stream()
-                                    .map(keyword -> builder.isMember(keyword, speech.get("keywords")))
+                                    ? keywordPredicate(builder, keywordMatch, keywords.stream()
+                                    .map(keyword -> hasKeyword(speech, query, builder, keyword.toLowerCase()))
                                     .toArray(Predicate[]::new))
                                     : null,
                             ObjectUtils.allNotNull(startDate, endDate)
@@ -71,4 +73,35 @@ public class SpeechSpecification {
         };
     }
 
+    // the probe of speech_keyword is pinned to the speech's date, so only the partition of its year is read
+    private static Predicate hasKeyword(Root<Speech> speech, CriteriaQuery<?> query, CriteriaBuilder builder,
+                                        String keyword) {
+        Subquery<Integer> rows = query.subquery(Integer.class);
+        Root<Speech> correlated = rows.correlate(speech);
+        Join<Speech, SpeechKeyword> row = correlated.join("keywordRows");
+        rows.select(builder.literal(1)).where(
+                builder.equal(row.get("keyword"), keyword),
+                builder.equal(row.get("speechDate"), correlated.get("speechDate")));
+        return builder.exists(rows);
+    }
+
+    private static Predicate keywordPredicate(CriteriaBuilder builder, KeywordMatch keywordMatch, Predicate[] members) {
+        return keywordMatch == KeywordMatch.ALL ? builder.and(members) : builder.or(members);
+    }
+
+    // ids resolved up front, e.g. by the keyword index; in_clause_parameter_padding keeps the statement cache small
+    public static Specification<Speech> idIn(long[] ids) {
+        return (speech, query, builder) -> speech.get("id").in(LongStream.of(ids).boxed().toList());
+    }
+
+    public static Specification<Speech> after(SpeechCursor cursor) {
+
+        // speechDate >= :date narrows the range on idx_speech_speech_date, the OR breaks ties on id
+        return (speech, query, builder) -> builder.and(
+                builder.greaterThanOrEqualTo(speech.get("speechDate"), cursor.speechDate()),
+                builder.or(
+                        builder.greaterThan(speech.get("speechDate"), cursor.speechDate()),
+                        builder.greaterThan(speech.get("id"), cursor.id())));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package tech.challenge.speech.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+// What conditional GETs of one speech validate against: its update_date_time, and whether it exists at all.
+// List and search pages derive their validators from the page instead, see SpeechPageVersion.
+public record SpeechVersion(OffsetDateTime lastModified, long count) {
+
+    public boolean exists() {
+        return count > 0;
+    }
+
+    // weak validators: the same tag covers the JSON, CBOR and Smile representations and their gzipped forms, and
+    // Tomcat only compresses responses whose ETag is weak; update_date_time is kept to the microsecond
+    public String speechEtag(Long id) {
+        return "W/\"" + id + "-" + Long.toHexString(micros()) + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toInstant().toEpochMilli();
+    }
+
+    private long micros() {
+        return lastModified == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, lastModified.toInstant());
+    }
+}
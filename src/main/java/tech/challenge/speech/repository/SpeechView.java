@@ -0,0 +1,10 @@
+package tech.challenge.speech.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+// a speech as read for the API, selected column by column with its keywords aggregated in the same row; content
+// and excerpt are only set when the ContentSelection of the query asks for them
+public record SpeechView(Long id, String content, String excerpt, String author, Set<String> keywords, OffsetDateTime speechDate,
+                         OffsetDateTime createDateTime, OffsetDateTime updateDateTime, Long version) {
+}
@@ -0,0 +1,107 @@
+package tech.challenge.speech.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.exception.ServiceBusyException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static tech.challenge.speech.common.Constants.SERVICE_BUSY_MESSAGE;
+
+// Virtual threads remove the request thread limit, so without this every request would queue inside the
+// connection pool. Transactions beyond the pool size wait here in FIFO order and are shed once maxWait elapses.
+// The permit is taken right before a transaction borrows its connection and given back once it completed, so
+// cache hits and SUPPORTS scopes that never reach the database pass without one.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "speech.bulkhead", name = "enabled", matchIfMissing = true)
+public class DatabaseBulkhead implements TransactionExecutionListener {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Counter rejected;
+    // the outermost transaction of a thread holds the permit, REQUIRES_NEW ones opened inside it run on it
+    private final ThreadLocal<TransactionExecution> admitted = new ThreadLocal<>();
+
+    public DatabaseBulkhead(SpeechProperties speechProperties, DataSource dataSource, MeterRegistry meterRegistry) {
+        SpeechProperties.Bulkhead config = speechProperties.getBulkhead();
+        int maxConcurrentCalls = config.getMaxConcurrentCalls() > 0
+                ? config.getMaxConcurrentCalls()
+                : poolSize(dataSource);
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWait = config.getMaxWait();
+        this.rejected = Counter.builder("speech.bulkhead.rejected").register(meterRegistry);
+        Gauge.builder("speech.bulkhead.available", permits, Semaphore::availablePermits).register(meterRegistry);
+        log.info("Database bulkhead admits {} concurrent transaction/s.", maxConcurrentCalls);
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        if (admitted.get() != null) {
+            return;
+        }
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new ServiceBusyException(SERVICE_BUSY_MESSAGE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(SERVICE_BUSY_MESSAGE);
+        }
+        admitted.set(transaction);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null) {
+            release(transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        release(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        release(transaction);
+    }
+
+    private void release(TransactionExecution transaction) {
+        if (admitted.get() == transaction) {
+            admitted.remove();
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size, using {}.", DEFAULT_POOL_SIZE, e);
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,44 @@
+package tech.challenge.speech.service;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// top-N counts of posting lists within a set of matching speeches, most frequent first and ties by value
+final class FacetCounter {
+
+    private static final Comparator<FacetCountDTO> MOST_FREQUENT = Comparator
+            .comparingLong(FacetCountDTO::getSpeechCount).reversed()
+            .thenComparing(FacetCountDTO::getValue);
+
+    private FacetCounter() {
+    }
+
+    // within is null when every speech matches and the posting sizes are the counts
+    static List<FacetCountDTO> top(Map<?, Roaring64Bitmap> postings, Roaring64Bitmap within, int limit) {
+        // the least frequent of the current top N sits at the head, ready to be replaced
+        final PriorityQueue<FacetCountDTO> top = new PriorityQueue<>(limit + 1, MOST_FREQUENT.reversed());
+        for (Map.Entry<?, Roaring64Bitmap> posting : postings.entrySet()) {
+            final Roaring64Bitmap ids = posting.getValue();
+            // a posting smaller than the current N-th count cannot get into the top N
+            if (top.size() == limit && ids.getLongCardinality() < top.peek().getSpeechCount()) {
+                continue;
+            }
+            final long count = within == null ? ids.getLongCardinality() : Roaring64Bitmap.andCardinality(ids, within);
+            if (count > 0) {
+                top.add(new FacetCountDTO(posting.getKey().toString(), count));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        final List<FacetCountDTO> counts = new ArrayList<>(top);
+        counts.sort(MOST_FREQUENT);
+        return counts;
+    }
+}
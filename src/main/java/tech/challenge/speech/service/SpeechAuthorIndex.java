@@ -0,0 +1,158 @@
+package tech.challenge.speech.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.exception.BadRequestException;
+import tech.challenge.speech.model.dto.AuthorDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static tech.challenge.speech.common.Constants.DEFAULT_AUTHOR_LIMIT;
+import static tech.challenge.speech.common.Constants.MAX_AUTHOR_LIMIT;
+
+// Distinct authors with their speech counts, sorted by lowercased name so a prefix is one range of the skip list
+// and autocomplete never reaches the database. Each spelling of a name is its own entry, keyed as
+// "<lowercased>\0<author>", which keeps the range case-insensitive while the author is returned as written.
+// Built once every singleton is ready and kept current by the committed write events. A rebuild loads into a
+// fresh map while suggestions keep reading the published one, then swaps it in.
+@Slf4j
+@Component
+public class SpeechAuthorIndex implements SmartInitializingSingleton {
+
+    // maintained by triggers on speech, one row per author
+    private static final String LOAD_AUTHORS = "SELECT author, speech_count FROM speech_author_stats";
+    private static final char SEPARATOR = '\0';
+
+    // most speeches first, then alphabetically
+    private static final Comparator<Map.Entry<String, Long>> RANKING = Map.Entry.<String, Long>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final Object lock = new Object();
+    private final JdbcTemplate jdbcTemplate;
+    private volatile ConcurrentSkipListMap<String, Long> authors = new ConcurrentSkipListMap<>();
+    // count changes committed while a rebuild loads, replayed onto the loaded authors before they are published
+    private List<Map.Entry<String, Long>> pending;
+
+    public SpeechAuthorIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // reloads every author from speech_author_stats, for rows written past the service layer (bulk loads, seeding)
+    public synchronized void rebuild() {
+        final long started = System.nanoTime();
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        final ConcurrentSkipListMap<String, Long> loaded = new ConcurrentSkipListMap<>();
+        try {
+            jdbcTemplate.query(LOAD_AUTHORS, resultSet -> {
+                loaded.put(key(resultSet.getString(1)), resultSet.getLong(2));
+            });
+            synchronized (lock) {
+                pending.forEach(change -> adjust(loaded, change.getKey(), change.getValue()));
+                authors = loaded;
+            }
+        } finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+        log.info("Built author index of {} author/s in {} ms.", loaded.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public List<AuthorDTO> suggest(String prefix, Integer limit) {
+        final int size = resolveLimit(limit);
+        final String from = Objects.requireNonNullElse(prefix, "").toLowerCase(Locale.ROOT);
+        final ConcurrentSkipListMap<String, Long> published = authors;
+        final ConcurrentNavigableMap<String, Long> matches = from.isEmpty()
+                ? published
+                : published.subMap(from, true, from + Character.MAX_VALUE, false);
+
+        // keep only the best `size` entries while walking the range, the worst on top to be evicted
+        final PriorityQueue<Map.Entry<String, Long>> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+        for (Map.Entry<String, Long> entry : matches.entrySet()) {
+            best.offer(entry);
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+        return best.stream()
+                .sorted(RANKING)
+                .map(entry -> new AuthorDTO(author(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpeechChanged(SpeechChangedEvent event) {
+        final String before = event.before() == null ? null : event.before().author();
+        final String after = event.after() == null ? null : event.after().author();
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        synchronized (lock) {
+            if (before != null) {
+                record(key(before), -1L);
+            }
+            if (after != null) {
+                record(key(after), 1L);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartitionDetached(SpeechPartitionDetachedEvent event) {
+        rebuild();
+    }
+
+    private void record(String key, long change) {
+        adjust(authors, key, change);
+        if (pending != null) {
+            pending.add(Map.entry(key, change));
+        }
+    }
+
+    private static void adjust(ConcurrentSkipListMap<String, Long> authors, String key, long change) {
+        if (change < 0) {
+            authors.computeIfPresent(key, (author, count) -> count + change > 0 ? count + change : null);
+        } else {
+            authors.merge(key, change, Long::sum);
+        }
+    }
+
+    private static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_AUTHOR_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_AUTHOR_LIMIT);
+    }
+
+    private static String key(String author) {
+        return author.toLowerCase(Locale.ROOT) + SEPARATOR + author;
+    }
+
+    private static String author(String key) {
+        return key.substring(key.indexOf(SEPARATOR) + 1);
+    }
+}
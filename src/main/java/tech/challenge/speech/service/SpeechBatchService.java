@@ -0,0 +1,219 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.common.SpeechFingerprint;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.mapper.SpeechMapper;
+import tech.challenge.speech.model.dto.BatchItemResultDTO;
+import tech.challenge.speech.model.dto.BatchOperationDTO;
+import tech.challenge.speech.model.dto.BatchOperationType;
+import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechFingerprintView;
+import tech.challenge.speech.repository.SpeechRepository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static tech.challenge.speech.common.Constants.*;
+
+@Slf4j
+@Service
+@Timed("speech.service")
+@Transactional
+@RequiredArgsConstructor
+public class SpeechBatchService {
+
+    private final SpeechRepository speechRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpeechPartitions partitions;
+    private final PlatformTransactionManager transactionManager;
+
+    // the partitions of a new year are created before the write transaction opens, which then needs no second
+    // connection from the pool
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BatchItemResultDTO> applyBatch(List<BatchOperationDTO> operations) {
+        final BatchItemResultDTO[] results = new BatchItemResultDTO[operations.size()];
+
+        // reject malformed operations and repeated targets before touching the database
+        final Set<Long> targetIds = new HashSet<>();
+        final Set<OffsetDateTime> speechDates = new HashSet<>();
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationDTO operation = operations.get(index);
+            List<String> errors = validate(operation);
+            if (!errors.isEmpty()) {
+                results[index] = result(index, operation, operation.getId(), HttpStatus.BAD_REQUEST, "Validation failed", errors);
+            } else if (operation.getId() != null && !targetIds.add(operation.getId())) {
+                results[index] = result(index, operation, operation.getId(), HttpStatus.CONFLICT, BATCH_REPEATED_TARGET_MESSAGE, null);
+            } else if (operation.getType() != BatchOperationType.DELETE) {
+                speechDates.add(operation.getSpeech().getSpeechDate());
+            }
+        }
+        partitions.ensureFor(speechDates);
+
+        return new TransactionTemplate(transactionManager).execute(status -> apply(operations, results, targetIds));
+    }
+
+    private List<BatchItemResultDTO> apply(List<BatchOperationDTO> operations, BatchItemResultDTO[] results,
+                                           Set<Long> targetIds) {
+        // one query loads every update and delete target
+        final Map<Long, Speech> targets = speechRepository.findAllById(targetIds).stream()
+                .collect(Collectors.toMap(Speech::getId, Function.identity()));
+
+        // one query finds every stored speech that already owns a fingerprint this batch would write
+        final Map<Integer, String> fingerprints = new HashMap<>();
+        for (int index = 0; index < operations.size(); index++) {
+            if (results[index] == null && operations.get(index).getType() != BatchOperationType.DELETE) {
+                fingerprints.put(index, fingerprintOf(operations.get(index).getSpeech()));
+            }
+        }
+        final Map<String, Long> fingerprintOwners = fingerprints.isEmpty()
+                ? new HashMap<>()
+                : speechRepository.findByContentFingerprintIn(new HashSet<>(fingerprints.values())).stream()
+                .collect(Collectors.toMap(SpeechFingerprintView::contentFingerprint, SpeechFingerprintView::id,
+                        (first, second) -> first, HashMap::new));
+
+        // fingerprints given up by a delete or an update earlier in the batch, free for the operations after it
+        final Set<String> freedFingerprints = new HashSet<>();
+        final Set<String> claimedFingerprints = new HashSet<>();
+        final List<Speech> created = new ArrayList<>();
+        final List<Integer> createdIndexes = new ArrayList<>();
+        final List<Long> pendingDeletes = new ArrayList<>();
+        int deleted = 0;
+
+        for (int index = 0; index < operations.size(); index++) {
+            if (results[index] != null) {
+                continue;
+            }
+            BatchOperationDTO operation = operations.get(index);
+            Long id = operation.getId();
+
+            if (operation.getType() != BatchOperationType.CREATE && !targets.containsKey(id)) {
+                results[index] = result(index, operation, id, HttpStatus.NOT_FOUND, "Speech not found with id: " + id, null);
+                continue;
+            }
+            if (operation.getType() == BatchOperationType.DELETE) {
+                pendingDeletes.add(id);
+                release(fingerprintOwners, freedFingerprints, targets.get(id).getContentFingerprint(), id);
+                eventPublisher.publishEvent(SpeechChangedEvent.deleted(targets.get(id)));
+                results[index] = result(index, operation, id, HttpStatus.OK, SPEECH_DELETED, null);
+                continue;
+            }
+
+            String fingerprint = fingerprints.get(index);
+            Long owner = fingerprintOwners.get(fingerprint);
+            if ((owner != null && !owner.equals(id)) || !claimedFingerprints.add(fingerprint)) {
+                results[index] = result(index, operation, id, HttpStatus.CONFLICT, DUPLICATE_SPEECH_MESSAGE, null);
+                continue;
+            }
+            if (freedFingerprints.contains(fingerprint)) {
+                // the unique index checks each statement, and Hibernate would flush inserts before updates and
+                // deletes, so whatever freed the fingerprint reaches the database before it is claimed again
+                deleted += deleteNow(pendingDeletes);
+                speechRepository.flush();
+            }
+
+            if (operation.getType() == BatchOperationType.CREATE) {
+                Speech speech = SpeechMapper.INSTANCE.speechDtoToEntity(operation.getSpeech());
+                speech.setId(null);
+                created.add(speech);
+                createdIndexes.add(index);
+            } else {
+                SpeechChangedEvent.Snapshot before = SpeechChangedEvent.Snapshot.of(targets.get(id));
+                String previous = targets.get(id).getContentFingerprint();
+                applyUpdate(targets.get(id), operation.getSpeech());
+                if (!fingerprint.equals(previous)) {
+                    release(fingerprintOwners, freedFingerprints, previous, id);
+                }
+                eventPublisher.publishEvent(SpeechChangedEvent.updated(before, targets.get(id)));
+                results[index] = result(index, operation, id, HttpStatus.OK, SPEECH_UPDATED, null);
+            }
+        }
+
+        deleted += deleteNow(pendingDeletes);
+
+        // ids come from the pooled sequence, so speech and keyword inserts are sent as JDBC batches on flush
+        final List<Speech> saved = speechRepository.saveAll(created);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = createdIndexes.get(i);
+            eventPublisher.publishEvent(SpeechChangedEvent.created(saved.get(i)));
+            results[index] = result(index, operations.get(index), saved.get(i).getId(), HttpStatus.CREATED, SPEECH_CREATED, null);
+        }
+
+        log.info("Applied batch of {} operation/s: {} created, {} deleted.", operations.size(), saved.size(), deleted);
+        return Arrays.asList(results);
+    }
+
+    private int deleteNow(List<Long> pendingDeletes) {
+        final int count = pendingDeletes.size();
+        if (count > 0) {
+            speechRepository.deleteAllByIdInBatch(List.copyOf(pendingDeletes));
+            pendingDeletes.clear();
+        }
+        return count;
+    }
+
+    private static void release(Map<String, Long> fingerprintOwners, Set<String> freedFingerprints,
+                                String fingerprint, Long id) {
+        if (fingerprint != null && fingerprintOwners.remove(fingerprint, id)) {
+            freedFingerprints.add(fingerprint);
+        }
+    }
+
+    private List<String> validate(BatchOperationDTO operation) {
+        final List<String> errors = new ArrayList<>();
+        final BatchOperationType type = operation.getType();
+
+        if (type == BatchOperationType.CREATE && operation.getId() != null) {
+            errors.add("id: Id must not be set for " + type);
+        }
+        if (type != BatchOperationType.CREATE && operation.getId() == null) {
+            errors.add("id: Id is required for " + type);
+        }
+        if (type != BatchOperationType.DELETE) {
+            if (operation.getSpeech() == null) {
+                errors.add("speech: Speech is required for " + type);
+            } else {
+                validator.validate(operation.getSpeech()).forEach(violation ->
+                        errors.add("speech." + violation.getPropertyPath() + ": " + violation.getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    private static String fingerprintOf(SpeechDTO speech) {
+        return SpeechFingerprint.of(speech.getAuthor(), speech.getContent(), speech.getSpeechDate(), speech.getKeywords());
+    }
+
+    private static void applyUpdate(Speech speech, SpeechDTO changes) {
+        speech.setContent(changes.getContent());
+        speech.setAuthor(changes.getAuthor());
+        speech.setSpeechDate(changes.getSpeechDate());
+        speech.setKeywords(new HashSet<>(changes.getKeywords()));
+        speech.setUpdateDateTime(OffsetDateTime.now());
+    }
+
+    private static BatchItemResultDTO result(int index, BatchOperationDTO operation, Long id, HttpStatus status,
+                                             String message, List<String> errors) {
+        return new BatchItemResultDTO(index, operation.getType(), id, status.value(), message, errors);
+    }
+}
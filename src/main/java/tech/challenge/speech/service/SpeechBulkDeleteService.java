@@ -0,0 +1,107 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.exception.BadRequestException;
+import tech.challenge.speech.model.dto.BulkDeleteResultDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.ContentSelection;
+import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechSpecification;
+import tech.challenge.speech.repository.SpeechView;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static tech.challenge.speech.common.Constants.BULK_DELETE_CRITERIA_REQUIRED_MESSAGE;
+import static tech.challenge.speech.common.Constants.DATE_RANGE_INCOMPLETE_MESSAGE;
+
+// Deletes whatever the search criteria match in chunks, each committed on its own so no lock outlives a chunk.
+// A chunk is one select of ids with the authors and keywords the caches and indexes need to forget them, and one
+// DELETE ... RETURNING id; the speech_keyword rows go with ON DELETE CASCADE.
+@Slf4j
+@Service
+@Timed("speech.service")
+@RequiredArgsConstructor
+public class SpeechBulkDeleteService {
+
+    private final SpeechRepository speechRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpeechProperties speechProperties;
+    private final SpeechQueryMetrics queryMetrics;
+
+    public BulkDeleteResultDTO deleteSpeeches(String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate,
+                                              Set<String> keywords, KeywordMatch keywordMatch, boolean dryRun) {
+        requireCriteria(author, snippet, startDate, endDate, keywords);
+        final Specification<Speech> filter = SpeechSpecification.filterSpeeches(
+                author, snippet, startDate, endDate, keywords, keywordMatch);
+        final String filters = SpeechQueryMetrics.filters(author, snippet, startDate, endDate, keywords);
+
+        if (dryRun) {
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            long matching = queryMetrics.record("bulkDeleteCount", filters,
+                    () -> readOnlyTransaction.execute(status -> speechRepository.count(filter)), count -> 1);
+            log.info("Bulk delete dry run matched {} speech/es.", matching);
+            return new BulkDeleteResultDTO(matching, true);
+        }
+
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        final int chunkSize = speechProperties.getBulkDelete().getChunkSize();
+        long deleted = 0;
+        Chunk chunk;
+        do {
+            chunk = queryMetrics.record("bulkDelete", filters,
+                    () -> transaction.execute(status -> deleteChunk(filter, chunkSize)), Chunk::deleted);
+            deleted += chunk.deleted();
+        } while (chunk.selected() == chunkSize);
+
+        log.info("Bulk deleted {} speech/es.", deleted);
+        return new BulkDeleteResultDTO(deleted, false);
+    }
+
+    private Chunk deleteChunk(Specification<Speech> filter, int chunkSize) {
+        // the delete events only carry author, keywords and date
+        final List<SpeechView> matching = speechRepository.findViews(filter, Sort.unsorted(), chunkSize, ContentSelection.NONE);
+        if (matching.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+
+        // a speech deleted concurrently since the select is not returned, and not announced twice
+        final Set<Long> deletedIds = Set.copyOf(speechRepository.deleteAllByIdReturningIds(
+                matching.stream().map(SpeechView::id).toList()));
+        matching.stream()
+                .filter(speech -> deletedIds.contains(speech.id()))
+                .forEach(speech -> eventPublisher.publishEvent(SpeechChangedEvent.deleted(speech)));
+        return new Chunk(matching.size(), deletedIds.size());
+    }
+
+    // filterSpeeches skips blank criteria and a half-open date range, which here would mean deleting everything
+    private static void requireCriteria(String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate,
+                                        Set<String> keywords) {
+        if ((startDate == null) != (endDate == null)) {
+            throw new BadRequestException(DATE_RANGE_INCOMPLETE_MESSAGE);
+        }
+        if (StringUtils.isAllBlank(author, snippet) && CollectionUtils.isEmpty(keywords) && Objects.isNull(startDate)) {
+            throw new BadRequestException(BULK_DELETE_CRITERIA_REQUIRED_MESSAGE);
+        }
+    }
+
+    private record Chunk(int selected, int deleted) {
+    }
+}
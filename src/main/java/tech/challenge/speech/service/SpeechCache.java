@@ -0,0 +1,52 @@
+package tech.challenge.speech.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.util.function.Function;
+
+@Component
+public class SpeechCache {
+
+    private final Cache<Long, SpeechDTO> speechesById;
+
+    public SpeechCache(SpeechProperties speechProperties, MeterRegistry meterRegistry) {
+        SpeechProperties.Cache.ById config = speechProperties.getCache().getById();
+        // Caffeine evicts by W-TinyLFU once the size bound is reached
+        this.speechesById = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, speechesById, "speechesById");
+    }
+
+    public SpeechDTO get(Long id, Function<Long, SpeechDTO> loader) {
+        return speechesById.get(id, loader);
+    }
+
+    public SpeechDTO getIfPresent(Long id) {
+        return speechesById.getIfPresent(id);
+    }
+
+    // runs once the write is committed; an invalidation waits for any in-flight load of the same id and discards it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpeechChanged(SpeechChangedEvent event) {
+        if (event.type() != SpeechChangedEvent.Type.CREATED) {
+            speechesById.invalidate(event.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartitionDetached(SpeechPartitionDetachedEvent event) {
+        speechesById.invalidateAll();
+    }
+}
@@ -0,0 +1,92 @@
+package tech.challenge.speech.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.mapper.SpeechMapper;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechSpecification;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@Timed("speech.service")
+@RequiredArgsConstructor
+public class SpeechExportService {
+
+    private static final int NEWLINE = '\n';
+
+    private final SpeechRepository speechRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final SpeechProperties speechProperties;
+    private final SpeechQueryMetrics queryMetrics;
+
+    public long exportSpeeches(String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate,
+                               Set<String> keywords, OutputStream outputStream) {
+        // runs on the async response thread, so the transaction holding the cursor is opened here
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Long written = queryMetrics.record("export", SpeechQueryMetrics.filters(author, snippet, startDate, endDate, keywords),
+                () -> readOnlyTransaction.execute(status -> writeSpeeches(
+                        SpeechSpecification.filterSpeeches(author, snippet, startDate, endDate, keywords), outputStream)),
+                Long::longValue);
+        log.info("Exported {} speech/es.", written);
+        return written;
+    }
+
+    private long writeSpeeches(Specification<Speech> specification, OutputStream outputStream) {
+        final int fetchSize = speechProperties.getExport().getFetchSize();
+        final List<Speech> chunk = new ArrayList<>(fetchSize);
+        long written = 0;
+
+        try (Stream<Speech> speeches = speechRepository.streamAll(specification, SpeechSpecification.KEYSET_ORDER, fetchSize)) {
+            Iterator<Speech> iterator = speeches.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == fetchSize) {
+                    written += writeChunk(chunk, outputStream);
+                }
+            }
+            written += writeChunk(chunk, outputStream);
+        }
+        return written;
+    }
+
+    private int writeChunk(List<Speech> chunk, OutputStream outputStream) {
+        final int size = chunk.size();
+        try {
+            for (Speech speech : chunk) {
+                outputStream.write(objectMapper.writeValueAsBytes(SpeechMapper.INSTANCE.toDto(speech)));
+                outputStream.write(NEWLINE);
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // detach the written rows so memory stays bounded by the chunk, not the table
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+}
@@ -0,0 +1,214 @@
+package tech.challenge.speech.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.dto.SearchFacet;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechRepository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Author and year to speech ids as Roaring bitmaps, so the facet counts of a search are intersections with the
+// matching ids in memory rather than GROUP BY queries over every matching row. Keyword counts come from the
+// postings SpeechKeywordIndex already holds. Built at startup and kept current by the same committed write events
+// as that index; years are UTC.
+@Slf4j
+@Component
+public class SpeechFacetIndex implements SmartInitializingSingleton {
+
+    private static final String LOAD_SPEECHES =
+            "SELECT id, author, CAST(EXTRACT(YEAR FROM speech_date AT TIME ZONE 'UTC') AS INTEGER) FROM speech";
+    private static final String COUNT_ALL_KEYWORDS =
+            "SELECT keyword, speech_count FROM speech_keyword_stats ORDER BY speech_count DESC, keyword LIMIT ?";
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SpeechRepository speechRepository;
+    private final SpeechKeywordIndex keywordIndex;
+    private final SpeechProperties.FacetIndex config;
+    // guarded by the lock, replaced as a whole by a rebuild
+    private Map<String, Roaring64Bitmap> authors = new HashMap<>();
+    private Map<Integer, Roaring64Bitmap> years = new HashMap<>();
+    // writes committed while a rebuild loads, replayed onto the loaded postings before they are swapped in
+    private List<SpeechChangedEvent> pending;
+
+    public SpeechFacetIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            SpeechRepository speechRepository, SpeechKeywordIndex keywordIndex,
+                            SpeechProperties speechProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.speechRepository = speechRepository;
+        this.keywordIndex = keywordIndex;
+        this.config = speechProperties.getFacetIndex();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // reloads every posting from speech, for rows written past the service layer (bulk loads, seeding); counts
+    // keep coming from the current postings until the loaded ones are swapped in
+    public synchronized void rebuild() {
+        final long started = System.nanoTime();
+        final Map<String, Roaring64Bitmap> loadedAuthors = new HashMap<>();
+        final Map<Integer, Roaring64Bitmap> loadedYears = new HashMap<>();
+
+        // PostgreSQL only streams with a fetch size inside a transaction
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SPEECHES);
+                statement.setFetchSize(config.getFetchSize());
+                return statement;
+            }, resultSet -> {
+                final long id = resultSet.getLong(1);
+                add(loadedAuthors, resultSet.getString(2), id);
+                add(loadedYears, resultSet.getInt(3), id);
+            }));
+            loadedAuthors.values().forEach(Roaring64Bitmap::runOptimize);
+            loadedYears.values().forEach(Roaring64Bitmap::runOptimize);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // adding the new state and removing the old one is idempotent, so writes the load already saw are harmless
+        lock.writeLock().lock();
+        try {
+            pending.forEach(event -> apply(loadedAuthors, loadedYears, event));
+            pending = null;
+            authors = loadedAuthors;
+            years = loadedYears;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built facet index of {} author/s and {} year/s in {} ms.", loadedAuthors.size(), loadedYears.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // the top counts of each facet among the speeches matching the filter, given as their ids, or among every
+    // speech when within is null
+    public Map<String, List<FacetCountDTO>> count(Set<SearchFacet> facets, Specification<Speech> filter,
+                                                  Roaring64Bitmap within, int limit) {
+        final Map<String, List<FacetCountDTO>> counts = new LinkedHashMap<>();
+        for (SearchFacet facet : facets) {
+            counts.put(facet.key(), switch (facet) {
+                case KEYWORDS -> keywordIndex.topKeywords(within, limit)
+                        .orElseGet(() -> countKeywords(filter, within, limit));
+                case AUTHOR -> top(() -> authors, within, limit);
+                case YEAR -> top(() -> years, within, limit);
+            });
+        }
+        return counts;
+    }
+
+    // runs ahead of the search cache listener, so a search repopulating the cache after a write counts it
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpeechChanged(SpeechChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(authors, years, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartitionDetached(SpeechPartitionDetachedEvent event) {
+        rebuild();
+    }
+
+    private List<FacetCountDTO> top(Supplier<Map<?, Roaring64Bitmap>> postings, Roaring64Bitmap within, int limit) {
+        lock.readLock().lock();
+        try {
+            return FacetCounter.top(postings.get(), within, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // for when the keyword index is disabled or not built yet; the search filter runs again in the grouping query
+    // rather than its ids being sent back as a parameter
+    private List<FacetCountDTO> countKeywords(Specification<Speech> filter, Roaring64Bitmap within, int limit) {
+        if (within == null) {
+            return jdbcTemplate.query(COUNT_ALL_KEYWORDS,
+                    (resultSet, row) -> new FacetCountDTO(resultSet.getString(1), resultSet.getLong(2)), limit);
+        }
+        return speechRepository.countKeywords(filter, limit);
+    }
+
+    private static void apply(Map<String, Roaring64Bitmap> authors, Map<Integer, Roaring64Bitmap> years,
+                              SpeechChangedEvent event) {
+        if (event.before() != null) {
+            remove(authors, event.before().author(), event.id());
+            remove(years, yearOf(event.before().speechDate()), event.id());
+        }
+        if (event.after() != null) {
+            add(authors, event.after().author(), event.id());
+            add(years, yearOf(event.after().speechDate()), event.id());
+        }
+    }
+
+    private static <K> void add(Map<K, Roaring64Bitmap> postings, K key, long id) {
+        if (key != null) {
+            postings.computeIfAbsent(key, value -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private static <K> void remove(Map<K, Roaring64Bitmap> postings, K key, long id) {
+        Roaring64Bitmap ids = key == null ? null : postings.get(key);
+        if (ids != null) {
+            ids.removeLong(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Integer yearOf(OffsetDateTime speechDate) {
+        return speechDate == null ? null : speechDate.atZoneSameInstant(ZoneOffset.UTC).getYear();
+    }
+}
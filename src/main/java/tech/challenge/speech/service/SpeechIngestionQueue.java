@@ -0,0 +1,235 @@
+package tech.challenge.speech.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.exception.IngestionQueueFullException;
+import tech.challenge.speech.exception.NotFoundException;
+import tech.challenge.speech.exception.ServiceBusyException;
+import tech.challenge.speech.model.dto.BatchItemResultDTO;
+import tech.challenge.speech.model.dto.BatchOperationDTO;
+import tech.challenge.speech.model.dto.BatchOperationType;
+import tech.challenge.speech.model.dto.IngestionStatus;
+import tech.challenge.speech.model.dto.IngestionTicketDTO;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static tech.challenge.speech.common.Constants.INGESTION_QUEUE_FULL_MESSAGE;
+import static tech.challenge.speech.common.Constants.SPEECH_CREATED;
+
+// Speeches posted with async=true wait here and one background writer hands them to SpeechBatchService in
+// groups, so a burst of single creates shares a transaction, a commit and one fingerprint query for duplicates.
+// A group is written once maxBatchSize speeches are waiting or the oldest of them has waited maxDelay.
+@Slf4j
+@Component
+public class SpeechIngestionQueue implements SmartLifecycle {
+
+    // stops after the web server, so speeches accepted by the last requests are still written
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final Duration IDLE_POLL = Duration.ofMillis(200);
+    private static final Duration BUSY_BACKOFF = Duration.ofMillis(100);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SpeechBatchService speechBatchService;
+    private final SpeechProperties.Ingestion config;
+    private final BlockingQueue<PendingSpeech> queue;
+    private final Cache<String, IngestionTicketDTO> tickets;
+    private final Counter rejected;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public SpeechIngestionQueue(SpeechBatchService speechBatchService, SpeechProperties speechProperties,
+                                MeterRegistry meterRegistry) {
+        this.speechBatchService = speechBatchService;
+        this.config = speechProperties.getIngestion();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        // a ticket is replaced rather than changed, which also restarts its time to live once it is completed
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumTickets())
+                .expireAfterWrite(config.getTicketTimeToLive())
+                .build();
+        this.rejected = Counter.builder("speech.ingestion.rejected").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("speech.ingestion.batch.size")
+                .baseUnit("speeches")
+                .register(meterRegistry);
+        Gauge.builder("speech.ingestion.queued", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public IngestionTicketDTO submit(SpeechDTO speech) {
+        final IngestionTicketDTO ticket = new IngestionTicketDTO(UUID.randomUUID().toString(), IngestionStatus.QUEUED,
+                null, null, OffsetDateTime.now(), null);
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!queue.offer(new PendingSpeech(ticket, speech))) {
+            tickets.invalidate(ticket.getTicketId());
+            rejected.increment();
+            throw new IngestionQueueFullException(INGESTION_QUEUE_FULL_MESSAGE);
+        }
+        return ticket;
+    }
+
+    public IngestionTicketDTO getTicket(String ticketId) {
+        final IngestionTicketDTO ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null) {
+            throw new NotFoundException("Ingestion ticket not found with id: " + ticketId);
+        }
+        return ticket;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofVirtual().name("speech-ingestion-writer").start(this::writeUntilStopped);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!writer.join(STOP_TIMEOUT)) {
+                log.warn("Ingestion writer did not finish within {}, {} speech/es left unwritten.", STOP_TIMEOUT, queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // writes whatever is waiting, up to one group, without waiting for more
+    int writePending() {
+        final List<PendingSpeech> batch = new ArrayList<>(config.getMaxBatchSize());
+        queue.drainTo(batch, config.getMaxBatchSize());
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        return batch.size();
+    }
+
+    private void writeUntilStopped() {
+        final List<PendingSpeech> batch = new ArrayList<>(config.getMaxBatchSize());
+        // once stopped, what is still queued is written before the thread ends
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    log.error("Could not write a group of {} speech/es.", batch.size(), e);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingSpeech> batch) throws InterruptedException {
+        final PendingSpeech first = queue.poll(IDLE_POLL.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        final long deadline = System.nanoTime() + config.getMaxDelay().toNanos();
+        while (batch.size() < config.getMaxBatchSize()) {
+            if (queue.drainTo(batch, config.getMaxBatchSize() - batch.size()) > 0) {
+                continue;
+            }
+            final long remaining = deadline - System.nanoTime();
+            final PendingSpeech next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingSpeech> batch) {
+        final List<BatchOperationDTO> operations = batch.stream()
+                .map(pending -> {
+                    BatchOperationDTO operation = new BatchOperationDTO();
+                    operation.setType(BatchOperationType.CREATE);
+                    operation.setSpeech(pending.speech());
+                    return operation;
+                })
+                .toList();
+
+        final List<BatchItemResultDTO> results;
+        try {
+            results = applyWhenAdmitted(operations);
+        } catch (RuntimeException e) {
+            // e.g. a synchronous create took a fingerprint between the duplicate check and the insert, which
+            // rolls back the whole group; written one by one, only that speech fails
+            if (batch.size() > 1) {
+                log.warn("Group of {} speech/es failed, writing them one by one.", batch.size(), e);
+                batch.forEach(pending -> write(List.of(pending)));
+                return;
+            }
+            complete(batch.get(0), IngestionStatus.FAILED, null, e.getMessage());
+            return;
+        }
+
+        batchSizes.record(batch.size());
+        for (int index = 0; index < batch.size(); index++) {
+            BatchItemResultDTO result = results.get(index);
+            if (result.getStatus() == HttpStatus.CREATED.value()) {
+                complete(batch.get(index), IngestionStatus.CREATED, result.getId(), SPEECH_CREATED);
+            } else {
+                String message = result.getErrors() == null
+                        ? result.getMessage()
+                        : result.getMessage() + ": " + String.join(", ", result.getErrors());
+                complete(batch.get(index), IngestionStatus.REJECTED, null, message);
+            }
+        }
+        log.info("Wrote ingestion group of {} speech/es.", batch.size());
+    }
+
+    // request threads can hold every bulkhead permit; accepted speeches wait for one rather than being dropped
+    private List<BatchItemResultDTO> applyWhenAdmitted(List<BatchOperationDTO> operations) {
+        while (true) {
+            try {
+                return speechBatchService.applyBatch(operations);
+            } catch (ServiceBusyException e) {
+                LockSupport.parkNanos(BUSY_BACKOFF.toNanos());
+            }
+        }
+    }
+
+    private void complete(PendingSpeech pending, IngestionStatus status, Long speechId, String message) {
+        final IngestionTicketDTO accepted = pending.ticket();
+        tickets.put(accepted.getTicketId(), new IngestionTicketDTO(accepted.getTicketId(), status, speechId, message,
+                accepted.getAcceptedDateTime(), OffsetDateTime.now()));
+    }
+
+    private record PendingSpeech(IngestionTicketDTO ticket, SpeechDTO speech) {
+    }
+}
@@ -0,0 +1,222 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keyword to speech ids as compressed Roaring bitmaps, so keyword sets are resolved by bitmap union or
+// intersection in memory and the database only sees the final ids. Built from speech_keyword once every
+// singleton (Flyway included) is ready, before the web server accepts requests, then kept current by the
+// committed write events. Keys are stored exactly as in speech_keyword and looked up lowercased, which is
+// how the isMember predicate in SpeechSpecification matches them.
+@Slf4j
+@Component
+public class SpeechKeywordIndex implements SmartInitializingSingleton {
+
+    private static final String LOAD_POSTINGS = "SELECT speech_id, keyword FROM speech_keyword";
+    private static final long[] NO_IDS = new long[0];
+
+    private final Map<String, Roaring64Bitmap> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SpeechProperties.KeywordIndex config;
+    private final Counter resolved;
+    private final Counter empty;
+    private final Counter fallback;
+    private volatile boolean ready;
+
+    public SpeechKeywordIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              SpeechProperties speechProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.config = speechProperties.getKeywordIndex();
+        this.resolved = lookups(meterRegistry, "ids");
+        this.empty = lookups(meterRegistry, "empty");
+        this.fallback = lookups(meterRegistry, "fallback");
+        Gauge.builder("speech.keyword.index.keywords", this, SpeechKeywordIndex::keywordCount).register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!config.isEnabled()) {
+            log.info("Keyword index is disabled, keyword filters run in the database.");
+            return;
+        }
+        rebuild();
+    }
+
+    // reloads every posting from speech_keyword, for rows written past the service layer (bulk loads, seeding)
+    public void rebuild() {
+        final long started = System.nanoTime();
+
+        // PostgreSQL only streams with a fetch size inside a transaction
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_POSTINGS);
+                statement.setFetchSize(config.getFetchSize());
+                return statement;
+            }, resultSet -> {
+                postings.computeIfAbsent(resultSet.getString(2), keyword -> new Roaring64Bitmap())
+                        .addLong(resultSet.getLong(1));
+            }));
+            postings.values().forEach(Roaring64Bitmap::runOptimize);
+            ready = true;
+            log.info("Built keyword index of {} keyword/s in {} ms.", postings.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // the ids of speeches matching any or all keywords, or empty when the index cannot answer or the match is
+    // larger than max-ids-per-query and the database keyword filter is the better plan
+    public Optional<long[]> match(Collection<String> keywords, KeywordMatch keywordMatch) {
+        final int maxIds = config.getMaxIdsPerQuery();
+        if (!ready) {
+            fallback.increment();
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            List<Roaring64Bitmap> matches = new ArrayList<>(keywords.size());
+            for (String keyword : keywords) {
+                Roaring64Bitmap ids = postings.get(keyword.toLowerCase(Locale.ROOT));
+                if (ids != null) {
+                    matches.add(ids);
+                } else if (keywordMatch == KeywordMatch.ALL) {
+                    empty.increment();
+                    return Optional.of(NO_IDS);
+                }
+            }
+            if (matches.isEmpty()) {
+                empty.increment();
+                return Optional.of(NO_IDS);
+            }
+
+            // intersect from the rarest keyword up; a union is at least as large as its largest posting
+            matches.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+            if (keywordMatch == KeywordMatch.ANY && matches.getLast().getLongCardinality() > maxIds) {
+                fallback.increment();
+                return Optional.empty();
+            }
+            Roaring64Bitmap result = matches.getFirst().clone();
+            for (Roaring64Bitmap ids : matches.subList(1, matches.size())) {
+                if (keywordMatch == KeywordMatch.ALL) {
+                    result.and(ids);
+                } else {
+                    result.or(ids);
+                }
+            }
+            if (result.getLongCardinality() > maxIds) {
+                fallback.increment();
+                return Optional.empty();
+            }
+            (result.isEmpty() ? empty : resolved).increment();
+            return Optional.of(result.toArray());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // the most frequent keywords among the given speeches, or every speech when within is null; empty when the
+    // index cannot answer
+    public Optional<List<FacetCountDTO>> topKeywords(Roaring64Bitmap within, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(FacetCounter.top(postings, within, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // runs ahead of the search cache listener, so a search repopulating the cache after a write sees the new ids
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpeechChanged(SpeechChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.before() != null) {
+                remove(event.id(), event.before().keywords());
+            }
+            if (event.after() != null) {
+                add(event.id(), event.after().keywords());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartitionDetached(SpeechPartitionDetachedEvent event) {
+        if (config.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    private void add(long id, Set<String> keywords) {
+        for (String keyword : keywords) {
+            postings.computeIfAbsent(keyword, key -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private void remove(long id, Set<String> keywords) {
+        for (String keyword : keywords) {
+            Roaring64Bitmap ids = postings.get(keyword);
+            if (ids != null) {
+                ids.removeLong(id);
+                if (ids.isEmpty()) {
+                    postings.remove(keyword);
+                }
+            }
+        }
+    }
+
+    private int keywordCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("speech.keyword.index.lookups").tag("outcome", outcome).register(meterRegistry);
+    }
+}
@@ -0,0 +1,122 @@
+package tech.challenge.speech.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.exception.NotFoundException;
+
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// speech and speech_keyword are range-partitioned by the UTC year of speech_date, without a default partition, so
+// a year needs its partitions before the first speech of that year is written. The current year and years-ahead
+// more are created at startup, any other year by the write that first needs it, before that write opens its
+// transaction. Years known to exist are kept here, which leaves a set lookup on the write path once a year has been
+// seen.
+@Slf4j
+@Component
+public class SpeechPartitions implements SmartInitializingSingleton {
+
+    private static final String LOAD_YEARS = """
+            SELECT CAST(substring(c.relname FROM '^speech_y([0-9]+)$') AS INTEGER)
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = CAST('speech' AS REGCLASS)
+            ORDER BY 1
+            """;
+    private static final String CREATE_YEAR = "SELECT speech_create_year_partition(?)";
+    private static final String FORGET_STATS = "SELECT speech_stats_forget(CAST(? AS REGCLASS), CAST(? AS REGCLASS))";
+
+    private final Set<Integer> years = ConcurrentHashMap.newKeySet();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpeechProperties.Partitions config;
+
+    public SpeechPartitions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher, SpeechProperties speechProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // the attach locks are released as soon as the partitions exist, not when the write that needed them ends
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.config = speechProperties.getPartitions();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        years.addAll(getYears());
+        final int currentYear = Year.now(ZoneOffset.UTC).getValue();
+        for (int year = currentYear; year <= currentYear + config.getYearsAhead(); year++) {
+            ensureYear(year);
+        }
+        log.info("Speech partitions cover {} year/s.", years.size());
+    }
+
+    public List<Integer> getYears() {
+        return jdbcTemplate.queryForList(LOAD_YEARS, Integer.class);
+    }
+
+    // called before speeches with these dates are inserted or moved, outside their transaction: a year missing here
+    // is created in a transaction of its own, which would otherwise take a second connection from the pool
+    public void ensureFor(Collection<OffsetDateTime> speechDates) {
+        speechDates.forEach(this::ensureFor);
+    }
+
+    public void ensureFor(OffsetDateTime speechDate) {
+        if (speechDate != null) {
+            ensureYear(speechDate.atZoneSameInstant(ZoneOffset.UTC).getYear());
+        }
+    }
+
+    // DETACH PARTITION ... CONCURRENTLY only takes SHARE UPDATE EXCLUSIVE locks on the parents, so reads and writes
+    // carry on, but it cannot run inside a transaction: each statement commits on its own. The tables stay behind
+    // as speech_archive_y<year> and speech_keyword_archive_y<year>, for dumping or dropping.
+    public void detachYear(int year) {
+        if (!getYears().contains(year)) {
+            throw new NotFoundException("No speech partition for year: " + year);
+        }
+        // keywords first, a speech partition cannot leave while rows of speech_keyword reference it
+        jdbcTemplate.execute("ALTER TABLE speech_keyword DETACH PARTITION speech_keyword_y%d CONCURRENTLY".formatted(year));
+        jdbcTemplate.execute("ALTER TABLE speech DETACH PARTITION speech_y%d CONCURRENTLY".formatted(year));
+        years.remove(year);
+
+        ownTransaction.executeWithoutResult(status -> {
+            // the detached copy of the foreign key would still point at speech, where its rows are gone
+            jdbcTemplate.execute("ALTER TABLE speech_keyword_y%d DROP CONSTRAINT fk_speech_keyword_speech".formatted(year));
+            jdbcTemplate.execute("ALTER TABLE speech_keyword_y%1$d RENAME TO speech_keyword_archive_y%1$d".formatted(year));
+            jdbcTemplate.execute("ALTER TABLE speech_y%1$d RENAME TO speech_archive_y%1$d".formatted(year));
+            // frees the name for the index of the year, should it be created again
+            jdbcTemplate.execute("ALTER INDEX uq_speech_content_fingerprint_y%1$d RENAME TO uq_speech_content_fingerprint_archive_y%1$d"
+                    .formatted(year));
+            jdbcTemplate.queryForObject(FORGET_STATS, Object.class,
+                    "speech_archive_y" + year, "speech_keyword_archive_y" + year);
+        });
+        log.info("Detached speech partitions for {}.", year);
+        eventPublisher.publishEvent(new SpeechPartitionDetachedEvent(year));
+    }
+
+    private void ensureYear(int year) {
+        if (years.contains(year)) {
+            return;
+        }
+        final Boolean created = ownTransaction.execute(status ->
+                jdbcTemplate.queryForObject(CREATE_YEAR, Boolean.class, year));
+        if (Boolean.TRUE.equals(created)) {
+            log.info("Created speech partitions for {}.", year);
+        }
+        years.add(year);
+    }
+}
@@ -0,0 +1,77 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// Times the specification queries and counts the rows they return, tagged by which search filters were active,
+// so slow filter combinations show up as their own series. Filters are tagged by name only, never by value.
+@Component
+@RequiredArgsConstructor
+public class SpeechQueryMetrics {
+
+    public static final String NO_FILTERS = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> List<T> recordList(String query, String filters, Supplier<List<T>> execution) {
+        return record(query, filters, execution, List::size);
+    }
+
+    public <T> T record(String query, String filters, Supplier<T> execution, ToLongFunction<T> rowCount) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            T result = execution.get();
+            DistributionSummary.builder("speech.query.rows")
+                    .baseUnit("rows")
+                    .tags(tags(query, filters))
+                    .register(meterRegistry)
+                    .record(rowCount.applyAsLong(result));
+            return result;
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("speech.query")
+                    .tags(tags(query, filters).and("exception", exception))
+                    .register(meterRegistry));
+        }
+    }
+
+    // mirrors the conditions under which SpeechSpecification.filterSpeeches adds a predicate
+    public static String filters(String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate,
+                                 Collection<String> keywords) {
+        StringJoiner filters = new StringJoiner(",");
+        if (StringUtils.isNotBlank(author)) {
+            filters.add("author");
+        }
+        if (StringUtils.isNotBlank(snippet)) {
+            filters.add("snippet");
+        }
+        if (CollectionUtils.isNotEmpty(keywords)) {
+            filters.add("keywords");
+        }
+        if (ObjectUtils.allNotNull(startDate, endDate)) {
+            filters.add("dateRange");
+        }
+        return filters.length() == 0 ? NO_FILTERS : filters.toString();
+    }
+
+    private static Tags tags(String query, String filters) {
+        return Tags.of("query", query, "filters", filters);
+    }
+}
@@ -0,0 +1,116 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.ReadWriteRoutingDataSource;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Keeps replica lag out of the caches. Every committed change raises the fence to the WAL position of the primary,
+// ahead of the listeners that evict what the change replaced; a cache fill then reads from its replica only once
+// that replica has replayed up to the fence, and from the primary otherwise. A replica that is not a streaming
+// standby cannot tell how far it got and counts as behind. Without replicas the fence is never consulted.
+@Component
+public class SpeechReplicaFence {
+
+    private static final String PRIMARY_POSITION = "SELECT CAST(pg_current_wal_insert_lsn() - '0/0' AS BIGINT)";
+    private static final String REPLAYED_UP_TO = "SELECT coalesce(pg_last_wal_replay_lsn() - '0/0' >= ?, FALSE)";
+
+    private final AtomicLong fence = new AtomicLong();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Counter behind;
+
+    public SpeechReplicaFence(JdbcTemplate jdbcTemplate, SpeechProperties speechProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        SpeechProperties.ReadReplicas readReplicas = speechProperties.getReadReplicas();
+        this.enabled = readReplicas.isEnabled() && !readReplicas.getUrls().isEmpty();
+        this.behind = Counter.builder("speech.replica.behind")
+                .description("Cache fills moved to the primary because their replica had not replayed the latest change")
+                .register(meterRegistry);
+    }
+
+    // runs the read-only transaction on a replica that has caught up with every change committed so far, or again
+    // on the primary when the replica it got is behind
+    public <T> T read(TransactionTemplate readOnlyTransaction, Supplier<T> action) {
+        if (!enabled || ReadWriteRoutingDataSource.isPinnedToPrimary()) {
+            return readOnlyTransaction.execute(status -> action.get());
+        }
+        final long required = fence.get();
+        final Fenced<T> fenced = readOnlyTransaction.execute(status ->
+                Boolean.TRUE.equals(jdbcTemplate.queryForObject(REPLAYED_UP_TO, Boolean.class, required))
+                        ? new Fenced<>(action.get())
+                        : null);
+        if (fenced != null) {
+            return fenced.value();
+        }
+        behind.increment();
+        return ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> action.get()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onSpeechChanged(SpeechChangedEvent event) {
+        raiseOnCommit();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onPartitionDetached(SpeechPartitionDetachedEvent event) {
+        raiseOnCommit();
+    }
+
+    // once per transaction however many speeches it changed, before the transactional listeners of the caches
+    private void raiseOnCommit() {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            raise();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                raise();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SpeechReplicaFence.this);
+            }
+        });
+    }
+
+    private void raise() {
+        final Long position = ReadWriteRoutingDataSource.onPrimary(() ->
+                jdbcTemplate.queryForObject(PRIMARY_POSITION, Long.class));
+        if (position != null) {
+            fence.accumulateAndGet(position, Math::max);
+        }
+    }
+
+    private record Fenced<T>(T value) {
+    }
+}
@@ -0,0 +1,102 @@
+package tech.challenge.speech.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.model.dto.CursorPage;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class SpeechSearchCache {
+
+    private static final int OBJECT_OVERHEAD_BYTES = 64;
+
+    private final Cache<SpeechSearchKey, CursorPage<SpeechDTO>> searches;
+    private final Cache<SpeechSearchKey, Map<String, List<FacetCountDTO>>> facets;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SpeechSearchCache(SpeechProperties speechProperties, MeterRegistry meterRegistry) {
+        SpeechProperties.Cache.Search config = speechProperties.getCache().getSearch();
+        this.searches = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximumSize().toBytes())
+                .weigher((SpeechSearchKey key, CursorPage<SpeechDTO> page) -> estimateBytes(page))
+                .expireAfterWrite(config.getTimeToLive())
+                .recordStats()
+                .build();
+        this.facets = Caffeine.newBuilder()
+                .maximumWeight(config.getFacetsMaximumSize().toBytes())
+                .weigher((SpeechSearchKey key, Map<String, List<FacetCountDTO>> counts) -> estimateBytes(counts))
+                .expireAfterWrite(config.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, searches, "speechSearches");
+        CaffeineCacheMetrics.monitor(meterRegistry, facets, "speechSearchFacets");
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public CursorPage<SpeechDTO> get(SpeechSearchKey key, Function<SpeechSearchKey, CursorPage<SpeechDTO>> loader) {
+        return searches.get(key, loader);
+    }
+
+    // keyed by SpeechSearchKey.forFacets(), the generation in the key retires the counts along with the pages
+    public Map<String, List<FacetCountDTO>> getFacets(SpeechSearchKey key,
+                                                      Function<SpeechSearchKey, Map<String, List<FacetCountDTO>>> loader) {
+        return facets.get(key, loader);
+    }
+
+    // any committed write makes every cached result unreachable, the stale entries age out under the weight bound
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpeechChanged(SpeechChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartitionDetached(SpeechPartitionDetachedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private static int estimateBytes(CursorPage<SpeechDTO> page) {
+        long bytes = OBJECT_OVERHEAD_BYTES + 2L * StringUtils.length(page.nextCursor());
+        for (SpeechDTO speech : page.items()) {
+            bytes += OBJECT_OVERHEAD_BYTES * 4
+                    + 2L * StringUtils.length(speech.getContent())
+                    + 2L * StringUtils.length(speech.getExcerpt())
+                    + 2L * StringUtils.length(speech.getAuthor());
+            if (speech.getKeywords() != null) {
+                for (String keyword : speech.getKeywords()) {
+                    bytes += OBJECT_OVERHEAD_BYTES + 2L * keyword.length();
+                }
+            }
+        }
+        if (page.facets() != null) {
+            bytes += estimateBytes(page.facets());
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int estimateBytes(Map<String, List<FacetCountDTO>> facets) {
+        long bytes = OBJECT_OVERHEAD_BYTES;
+        for (List<FacetCountDTO> counts : facets.values()) {
+            for (FacetCountDTO count : counts) {
+                bytes += OBJECT_OVERHEAD_BYTES + 2L * StringUtils.length(count.getValue());
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,71 @@
+package tech.challenge.speech.service;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.dto.SearchFacet;
+import tech.challenge.speech.repository.ContentSelection;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+// criteria that select the same rows map to the same key: case, keyword order and date offsets do not matter
+public record SpeechSearchKey(long generation, String author, String snippet, Instant startDate, Instant endDate,
+                              List<String> keywords, KeywordMatch keywordMatch, String cursor, Integer limit,
+                              Set<SearchFacet> facets, int facetLimit, ContentSelection content) {
+
+    public static SpeechSearchKey of(long generation, String author, String snippet, OffsetDateTime startDate,
+                                     OffsetDateTime endDate, Set<String> keywords, KeywordMatch keywordMatch,
+                                     String cursor, Integer limit, Set<SearchFacet> facets, int facetLimit,
+                                     ContentSelection content) {
+        // the date filter only applies when both bounds are given
+        boolean dateRange = ObjectUtils.allNotNull(startDate, endDate);
+        List<String> normalizedKeywords = CollectionUtils.emptyIfNull(keywords).stream()
+                .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toList();
+
+        return new SpeechSearchKey(
+                generation,
+                normalize(author),
+                normalize(snippet),
+                dateRange ? truncate(startDate) : null,
+                dateRange ? truncate(endDate) : null,
+                normalizedKeywords,
+                // the match mode only means something with two or more keywords
+                normalizedKeywords.size() > 1 ? Objects.requireNonNullElse(keywordMatch, KeywordMatch.ANY) : KeywordMatch.ANY,
+                cursor,
+                limit,
+                facets,
+                // without facets the limit changes nothing
+                facets.isEmpty() ? 0 : facetLimit,
+                content);
+    }
+
+    // the facet counts of a search are the same on every page and in every view
+    public SpeechSearchKey forFacets() {
+        return new SpeechSearchKey(generation, author, snippet, startDate, endDate, keywords, keywordMatch,
+                null, null, facets, facetLimit, null);
+    }
+
+    // whether anything besides keywords narrows the search, which the keyword index cannot resolve
+    public boolean filteredBeyondKeywords() {
+        return author != null || snippet != null || startDate != null;
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.isBlank(value) ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    // speech_date is stored to the microsecond, finer bounds cannot select different rows
+    private static Instant truncate(OffsetDateTime value) {
+        return value.toInstant().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -1,113 +1,435 @@
 package tech.challenge.speech.service;
 
 import jakarta.validation.Valid;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.common.SpeechCursor;
+import tech.challenge.speech.common.SpeechFingerprint;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.exception.BadRequestException;
 import tech.challenge.speech.exception.DuplicateSpeechException;
 import tech.challenge.speech.exception.NotFoundException;
 import tech.challenge.speech.mapper.SpeechMapper;
+import tech.challenge.speech.model.dto.CursorPage;
+import tech.challenge.speech.model.dto.FullTextHitDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.dto.PatchSpeechDTO;
+import tech.challenge.speech.model.dto.SearchFacet;
 import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.dto.SpeechRepresentation;
 import tech.challenge.speech.model.dto.UpdateSpeechDTO;
 import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.ContentSelection;
+import tech.challenge.speech.repository.FullTextMatch;
 import tech.challenge.speech.repository.SpeechRepository;
 import tech.challenge.speech.repository.SpeechSpecification;
+import tech.challenge.speech.repository.SpeechVersion;
+import tech.challenge.speech.repository.SpeechView;
 
 import java.time.OffsetDateTime;
-import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static tech.challenge.speech.common.Constants.DEFAULT_FACET_LIMIT;
+import static tech.challenge.speech.common.Constants.DEFAULT_PAGE_LIMIT;
+import static tech.challenge.speech.common.Constants.DUPLICATE_SPEECH_MESSAGE;
+import static tech.challenge.speech.common.Constants.KEYWORDS_REQUIRED_MESSAGE;
+import static tech.challenge.speech.common.Constants.MATCHING_IDS_FETCH_SIZE;
+import static tech.challenge.speech.common.Constants.MAX_EXCERPT_LENGTH;
+import static tech.challenge.speech.common.Constants.MAX_FACET_LIMIT;
+import static tech.challenge.speech.common.Constants.MAX_PAGE_LIMIT;
 
 @Slf4j
 @Service
+@Timed("speech.service")
 @Transactional
 @RequiredArgsConstructor
 public class SpeechService {
 
     private final SpeechRepository speechRepository;
+    private final SpeechCache speechCache;
+    private final SpeechSearchCache speechSearchCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final SpeechQueryMetrics queryMetrics;
+    private final SpeechKeywordIndex keywordIndex;
+    private final SpeechFacetIndex facetIndex;
+    private final SpeechPartitions partitions;
+    private final SpeechReplicaFence replicaFence;
 
-    public List<SpeechDTO> getAllSpeeches() {
-        List<Speech> speeches = speechRepository.findAll();
-        return SpeechMapper.INSTANCE.speechEntityToDtoList(speeches);
+    @Transactional(readOnly = true)
+    public CursorPage<SpeechDTO> getAllSpeeches(String cursor, Integer limit, SpeechRepresentation view,
+                                                Integer excerptLength) {
+        return findPage("list", SpeechQueryMetrics.NO_FILTERS, Specification.where(null), cursor, limit,
+                resolveContent(view, excerptLength));
     }
 
+    // a cache hit neither opens a transaction nor borrows a connection
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public SpeechDTO getSpeechById(Long id) {
-        SpeechDTO dto = speechRepository.findById(id)
-                .map(SpeechMapper.INSTANCE::toDto)
-                .orElseThrow(() -> new NotFoundException("Speech not found with id: " + id));
-        log.info("Found speech: {}", dto);
+        SpeechDTO dto = speechCache.get(id, this::loadSpeech);
+        log.info("Found speech with id: {}", id);
         return dto;
     }
 
-    public List<SpeechDTO> searchSpeeches(String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate, Set<String> keywords) {
-        // make keyword search case-insensitive
-        final Set<String> lowerCaseKeywords = (keywords == null)
-                ? Collections.emptySet()
-                : keywords.stream().map(String::toLowerCase).collect(Collectors.toSet());
+    private SpeechDTO loadSpeech(Long id) {
+        final List<SpeechView> speeches = readCaughtUp(() -> speechRepository.findViews(
+                SpeechSpecification.idIn(new long[]{id}), Sort.unsorted(), 1, ContentSelection.FULL));
+        return speeches.stream()
+                .findFirst()
+                .map(SpeechMapper.INSTANCE::viewToDto)
+                .orElseThrow(() -> new NotFoundException("Speech not found with id: " + id));
+    }
+
+    // repeated criteria are answered from the search cache until the next committed write
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public CursorPage<SpeechDTO> searchSpeeches(String author, String snippet, OffsetDateTime startDate, OffsetDateTime endDate,
+                                                Set<String> keywords, KeywordMatch keywordMatch, String cursor, Integer limit,
+                                                Set<String> facets, Integer facetLimit, SpeechRepresentation view,
+                                                Integer excerptLength) {
+        final SpeechSearchKey key = SpeechSearchKey.of(speechSearchCache.currentGeneration(),
+                author, snippet, startDate, endDate, keywords, keywordMatch, cursor, limit,
+                resolveFacets(facets), resolveFacetLimit(facetLimit), resolveContent(view, excerptLength));
+
+        final CursorPage<SpeechDTO> page = speechSearchCache.get(key, searchKey -> {
+            final String filters = SpeechQueryMetrics.filters(author, snippet, startDate, endDate, searchKey.keywords());
+            if (searchKey.keywords().isEmpty()) {
+                final Specification<Speech> filter = SpeechSpecification.filterSpeeches(author, snippet, startDate, endDate, Set.of());
+                // with no criteria at all every speech matches and whole postings are counted
+                return readCaughtUp(() -> withFacets(findPage("search", filters, filter, cursor, limit, searchKey.content()),
+                        searchKey, filter, () -> searchKey.filteredBeyondKeywords() ? findMatching(filters, filter) : null));
+            }
 
-        final List<Speech> speeches = speechRepository.findAll(
-                SpeechSpecification.filterSpeeches(author, snippet, startDate, endDate, lowerCaseKeywords)
-        );
+            // the index turns the keyword filter into ids; too many ids and the database filter is cheaper
+            final Optional<long[]> matchingIds = keywordIndex.match(searchKey.keywords(), searchKey.keywordMatch());
+            if (matchingIds.isPresent() && matchingIds.get().length == 0) {
+                return emptyPage(cursor, limit);
+            }
+            final Specification<Speech> filter = matchingIds
+                    .map(ids -> SpeechSpecification.filterSpeeches(author, snippet, startDate, endDate, Set.of())
+                            .and(SpeechSpecification.idIn(ids)))
+                    .orElseGet(() -> SpeechSpecification.filterSpeeches(author, snippet, startDate, endDate,
+                            Set.copyOf(searchKey.keywords()), searchKey.keywordMatch()));
 
-        if (speeches.isEmpty()) {
+            // only a miss opens a transaction, which keeps the session open for the batched keyword load
+            return readCaughtUp(() -> withFacets(findPage("search", filters, filter, cursor, limit, searchKey.content()),
+                    searchKey, filter, () -> matchingIds.isPresent() && !searchKey.filteredBeyondKeywords()
+                            ? Roaring64Bitmap.bitmapOf(matchingIds.get())
+                            : findMatching(filters, filter)));
+        });
+
+        // an empty page further down is a valid end of results, only an empty first page is a miss
+        if (page.items().isEmpty() && cursor == null) {
             log.warn("No speeches found matching the search criteria");
             throw new NotFoundException("No speeches found matching the search criteria");
         }
 
-        return SpeechMapper.INSTANCE.speechEntityToDtoList(speeches);
+        return page;
+    }
+
+    // validators of one speech for conditional GETs: a cached speech is answered from memory, anything else by its row
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public SpeechVersion getSpeechVersion(Long id) {
+        final SpeechDTO cached = speechCache.getIfPresent(id);
+        if (cached != null) {
+            return new SpeechVersion(cached.getUpdateDateTime(), 1);
+        }
+        return readCaughtUp(() -> queryMetrics.record("version", "id",
+                () -> speechRepository.findVersion(SpeechSpecification.idIn(new long[]{id})), version -> 1));
     }
 
+    @Transactional(readOnly = true)
+    public List<FullTextHitDTO> searchFullText(String query, Integer limit, boolean withHeadline) {
+        if (StringUtils.isBlank(query)) {
+            throw new BadRequestException("Full-text query cannot be empty");
+        }
+
+        final int pageSize = resolvePageSize(limit);
+        final List<FullTextMatch> matches = queryMetrics.recordList("fulltext", withHeadline ? "text,headline" : "text",
+                () -> speechRepository.searchFullText(query, pageSize, withHeadline));
+        if (matches.isEmpty()) {
+            log.warn("No speeches found matching the full-text query");
+            throw new NotFoundException("No speeches found matching the search criteria");
+        }
+
+        // hydrate the ranked ids with their keywords in one query
+        final Map<Long, SpeechDTO> speechesById = speechRepository.findViews(
+                        SpeechSpecification.idIn(matches.stream().mapToLong(FullTextMatch::id).toArray()), Sort.unsorted(),
+                        matches.size(), ContentSelection.FULL)
+                .stream()
+                .collect(Collectors.toMap(SpeechView::id, SpeechMapper.INSTANCE::viewToDto));
+
+        return matches.stream()
+                .filter(match -> speechesById.containsKey(match.id()))
+                .map(match -> new FullTextHitDTO(speechesById.get(match.id()), match.rank(), match.headline()))
+                .toList();
+    }
+
+    // Writes create the partitions of a new year before their transaction opens, so that no write holds one
+    // connection while waiting for another. SUPPORTS keeps the interceptor from opening it first, a transaction of
+    // the caller is still joined.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SpeechDTO saveSpeech(SpeechDTO speechDTO) {
-        Speech speechEntity = SpeechMapper.INSTANCE.speechDtoToEntity(speechDTO);
+        partitions.ensureFor(speechDTO.getSpeechDate());
+        return inWriteTransaction(() -> {
+            Speech speechEntity = SpeechMapper.INSTANCE.speechDtoToEntity(speechDTO);
 
-        // Check for duplicates
-        checkForDuplicate(speechEntity);
+            // Check for duplicates
+            checkForDuplicate(speechEntity);
 
-        Speech savedSpeech = speechRepository.save(speechEntity);
-        return SpeechMapper.INSTANCE.toDto(savedSpeech);
+            Speech savedSpeech = speechRepository.save(speechEntity);
+            eventPublisher.publishEvent(SpeechChangedEvent.created(savedSpeech));
+            return SpeechMapper.INSTANCE.toDto(savedSpeech);
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SpeechDTO updateSpeech(Long id, @Valid UpdateSpeechDTO updateSpeechDTO) {
-        Speech existingSpeech = speechRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Speech not found with id: " + id));
+        partitions.ensureFor(updateSpeechDTO.getSpeechDate());
+        return inWriteTransaction(() -> {
+            Speech existingSpeech = speechRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Speech not found with id: " + id));
+            checkVersion(existingSpeech, updateSpeechDTO.getVersion());
 
-        // Check for duplicates
-        Speech forChecking = SpeechMapper.INSTANCE.updateSpeechToEntity(updateSpeechDTO);
-        checkForDuplicate(forChecking);
+            // Check for duplicates
+            Speech forChecking = SpeechMapper.INSTANCE.updateSpeechToEntity(updateSpeechDTO);
+            checkForDuplicate(forChecking);
 
-        log.info("Current speech with id: {} to {}", id, existingSpeech);
+            log.info("Current speech with id: {} to {}", id, existingSpeech);
+            SpeechChangedEvent.Snapshot before = SpeechChangedEvent.Snapshot.of(existingSpeech);
 
-        existingSpeech.setContent(updateSpeechDTO.getContent());
-        existingSpeech.setAuthor(updateSpeechDTO.getAuthor());
-        existingSpeech.setSpeechDate(updateSpeechDTO.getSpeechDate());
-        existingSpeech.setKeywords(updateSpeechDTO.getKeywords());
-        existingSpeech.setUpdateDateTime(OffsetDateTime.now());
+            existingSpeech.setContent(updateSpeechDTO.getContent());
+            existingSpeech.setAuthor(updateSpeechDTO.getAuthor());
+            existingSpeech.setSpeechDate(updateSpeechDTO.getSpeechDate());
+            existingSpeech.setKeywords(updateSpeechDTO.getKeywords());
+            existingSpeech.setUpdateDateTime(OffsetDateTime.now());
 
-        Speech updatedSpeech = speechRepository.save(existingSpeech);
-        log.info("Updated speech with id: {} to {}", id, updatedSpeech);
-        return SpeechMapper.INSTANCE.toDto(updatedSpeech);
+            Speech updatedSpeech = speechRepository.save(existingSpeech);
+            // flushed so the response carries the new version and a concurrent update fails this request with 409
+            speechRepository.flush();
+            eventPublisher.publishEvent(SpeechChangedEvent.updated(before, updatedSpeech));
+            log.info("Updated speech with id: {} to {}", id, updatedSpeech);
+            return SpeechMapper.INSTANCE.toDto(updatedSpeech);
+        });
+    }
+
+    // Only what the patch changes is written: @DynamicUpdate limits the UPDATE to the changed columns and keywords
+    // are added to and removed from the loaded collection, which becomes single-row speech_keyword statements.
+    // No row lock is taken, a concurrent change is caught by the version in the UPDATE's WHERE clause.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SpeechDTO patchSpeech(Long id, @Valid PatchSpeechDTO patch) {
+        partitions.ensureFor(patch.getSpeechDate());
+        return inWriteTransaction(() -> {
+            Speech speech = speechRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Speech not found with id: " + id));
+            checkVersion(speech, patch.getVersion());
+
+            Speech patched = new Speech();
+            patched.setId(id);
+            patched.setContent(Objects.requireNonNullElse(patch.getContent(), speech.getContent()));
+            patched.setAuthor(Objects.requireNonNullElse(patch.getAuthor(), speech.getAuthor()));
+            patched.setSpeechDate(Objects.requireNonNullElse(patch.getSpeechDate(), speech.getSpeechDate()));
+            Set<String> keywords = new HashSet<>(speech.getKeywords());
+            keywords.removeAll(CollectionUtils.emptyIfNull(patch.getRemoveKeywords()));
+            keywords.addAll(CollectionUtils.emptyIfNull(patch.getAddKeywords()));
+            if (keywords.isEmpty()) {
+                throw new BadRequestException(KEYWORDS_REQUIRED_MESSAGE);
+            }
+            patched.setKeywords(keywords);
+
+            boolean unchanged = patched.getContent().equals(speech.getContent())
+                    && patched.getAuthor().equals(speech.getAuthor())
+                    && patched.getSpeechDate().isEqual(speech.getSpeechDate())
+                    && keywords.equals(speech.getKeywords());
+            if (unchanged) {
+                return SpeechMapper.INSTANCE.toDto(speech);
+            }
+            // every patchable field is part of the fingerprint, only a changed fingerprint can collide with another speech
+            if (!SpeechFingerprint.of(patched.getAuthor(), patched.getContent(), patched.getSpeechDate(), keywords)
+                    .equals(speech.getContentFingerprint())) {
+                checkForDuplicate(patched);
+            }
+
+            SpeechChangedEvent.Snapshot before = SpeechChangedEvent.Snapshot.of(speech);
+            speech.setContent(patched.getContent());
+            speech.setAuthor(patched.getAuthor());
+            speech.setSpeechDate(patched.getSpeechDate());
+            speech.setKeywords(keywords);
+            speech.setUpdateDateTime(OffsetDateTime.now());
+
+            Speech patchedSpeech = speechRepository.save(speech);
+            speechRepository.flush();
+            eventPublisher.publishEvent(SpeechChangedEvent.updated(before, patchedSpeech));
+            log.info("Patched speech with id: {} to {}", id, patchedSpeech);
+            return SpeechMapper.INSTANCE.toDto(patchedSpeech);
+        });
     }
 
     public void deleteSpeech(Long id) {
-        if (!speechRepository.existsById(id)) {
+        // loaded rather than probed, the event carries the keywords the index has to drop
+        Speech speech = speechRepository.findById(id).orElseThrow(() -> {
             log.warn("Speech not found with id {}", id);
-            throw new NotFoundException("Speech not found with id " + id);
+            return new NotFoundException("Speech not found with id " + id);
+        });
+        speechRepository.delete(speech);
+        eventPublisher.publishEvent(SpeechChangedEvent.deleted(speech));
+    }
+
+    private CursorPage<SpeechDTO> findPage(String queryName, String filters, Specification<Speech> filter,
+                                           String cursor, Integer limit, ContentSelection content) {
+        final int pageSize = resolvePageSize(limit);
+        final Specification<Speech> specification = (cursor == null)
+                ? filter
+                : filter.and(SpeechSpecification.after(SpeechCursor.decode(cursor)));
+
+        // fetch one extra row to know whether another page exists, without a count query
+        final List<SpeechView> speeches = queryMetrics.recordList(queryName, filters, () -> speechRepository.findViews(
+                specification, SpeechSpecification.KEYSET_ORDER, pageSize + 1, content));
+
+        if (speeches.size() <= pageSize) {
+            return new CursorPage<>(SpeechMapper.INSTANCE.viewToDtoList(speeches), null);
+        }
+
+        final List<SpeechView> pageContent = speeches.subList(0, pageSize);
+        return new CursorPage<>(
+                SpeechMapper.INSTANCE.viewToDtoList(pageContent),
+                SpeechCursor.of(pageContent.get(pageSize - 1)).encode());
+    }
+
+    // facets count every match, not only this page, so they come with the first page alone and are counted once
+    // per search whatever its limit and view; an empty first page becomes a 404 and is not counted
+    private CursorPage<SpeechDTO> withFacets(CursorPage<SpeechDTO> page, SpeechSearchKey key,
+                                             Specification<Speech> filter, Supplier<Roaring64Bitmap> matching) {
+        if (key.facets().isEmpty() || key.cursor() != null || page.items().isEmpty()) {
+            return page;
+        }
+        return page.withFacets(speechSearchCache.getFacets(key.forFacets(),
+                facetKey -> facetIndex.count(facetKey.facets(), filter, matching.get(), facetKey.facetLimit())));
+    }
+
+    // one id-only query in the page's transaction, streamed into the bitmap; the counting itself happens in the
+    // facet index
+    private Roaring64Bitmap findMatching(String filters, Specification<Speech> filter) {
+        return queryMetrics.record("facets", filters, () -> {
+            final Roaring64Bitmap ids = new Roaring64Bitmap();
+            try (Stream<Long> matching = speechRepository.streamIds(filter, MATCHING_IDS_FETCH_SIZE)) {
+                matching.forEach(ids::addLong);
+            }
+            return ids;
+        }, Roaring64Bitmap::getLongCardinality);
+    }
+
+    // no speech can match, so skip the query but still reject a bad limit or cursor
+    private CursorPage<SpeechDTO> emptyPage(String cursor, Integer limit) {
+        resolvePageSize(limit);
+        if (cursor != null) {
+            SpeechCursor.decode(cursor);
+        }
+        return new CursorPage<>(List.of(), null);
+    }
+
+    // opened by the writes once the partitions of their dates exist
+    private <T> T inWriteTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    // Cache fills read from a replica only once it has replayed every committed change, from the primary
+    // otherwise: a replica still behind a write would put what the write replaced back into the cache right after
+    // the write evicted it, to be served until the next write or expiry. The validators of a speech come from
+    // there too, so they describe what the cache serves.
+    private <T> T readCaughtUp(Supplier<T> action) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return replicaFence.read(readOnlyTransaction, action);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_PAGE_LIMIT);
+    }
+
+    // a summary selects no content, or only an excerpt when a length is asked for
+    private static ContentSelection resolveContent(SpeechRepresentation view, Integer excerptLength) {
+        if (view != SpeechRepresentation.SUMMARY) {
+            if (excerptLength != null) {
+                throw new BadRequestException("Excerpt length only applies to the SUMMARY view");
+            }
+            return ContentSelection.FULL;
+        }
+        if (excerptLength == null) {
+            return ContentSelection.NONE;
+        }
+        if (excerptLength < 1) {
+            throw new BadRequestException("Excerpt length must be greater than zero");
+        }
+        return ContentSelection.excerpt(Math.min(excerptLength, MAX_EXCERPT_LENGTH));
+    }
+
+    private static Set<SearchFacet> resolveFacets(Set<String> facets) {
+        final Set<SearchFacet> resolved = EnumSet.noneOf(SearchFacet.class);
+        for (String facet : CollectionUtils.emptyIfNull(facets)) {
+            try {
+                resolved.add(SearchFacet.valueOf(facet.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown facet: " + facet);
+            }
+        }
+        return resolved;
+    }
+
+    private static int resolveFacetLimit(Integer facetLimit) {
+        if (facetLimit == null) {
+            return DEFAULT_FACET_LIMIT;
+        }
+        if (facetLimit < 1) {
+            throw new BadRequestException("Facet limit must be greater than zero");
+        }
+        return Math.min(facetLimit, MAX_FACET_LIMIT);
+    }
+
+    // the version check in the UPDATE only covers changes made after the speech was loaded here
+    private static void checkVersion(Speech speech, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(speech.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Speech.class, speech.getId());
         }
-        speechRepository.deleteById(id);
     }
 
     private void checkForDuplicate(Speech speech) {
 
-        Optional<Speech> duplicate = speechRepository.findOne(
-                SpeechSpecification.checkForDuplicate(speech)
-        );
+        Optional<Speech> duplicate = queryMetrics.record("duplicateCheck", "fingerprint",
+                () -> speechRepository.findOne(SpeechSpecification.checkForDuplicate(speech)),
+                found -> found.isPresent() ? 1 : 0);
 
         if (duplicate.isPresent()) {
             log.warn("Found duplicate speech {}", duplicate.get());
-            throw new DuplicateSpeechException("A speech with the same content, author, date, and keywords already exists.");
+            throw new DuplicateSpeechException(DUPLICATE_SPEECH_MESSAGE);
         }
     }
 }
\ No newline at end of file
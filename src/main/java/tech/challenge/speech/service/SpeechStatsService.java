@@ -0,0 +1,71 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.challenge.speech.exception.BadRequestException;
+import tech.challenge.speech.model.dto.AuthorDTO;
+import tech.challenge.speech.model.dto.KeywordCountDTO;
+import tech.challenge.speech.model.dto.PeriodCountDTO;
+import tech.challenge.speech.model.dto.TimelineBucket;
+
+import java.util.List;
+
+import static tech.challenge.speech.common.Constants.DEFAULT_PAGE_LIMIT;
+import static tech.challenge.speech.common.Constants.MAX_PAGE_LIMIT;
+
+// Aggregates read from the speech_*_stats tables, which triggers keep current on every write, so each query
+// reads one row per author, keyword or month however many speeches there are.
+@Slf4j
+@Service
+@Timed("speech.service")
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class SpeechStatsService {
+
+    private static final String TOP_AUTHORS =
+            "SELECT author, speech_count FROM speech_author_stats ORDER BY speech_count DESC, author LIMIT ?";
+    private static final String TOP_KEYWORDS =
+            "SELECT keyword, speech_count FROM speech_keyword_stats ORDER BY speech_count DESC, keyword LIMIT ?";
+    private static final String MONTHS =
+            "SELECT to_char(month, 'YYYY-MM'), speech_count FROM speech_month_stats ORDER BY month";
+    private static final String YEARS = """
+            SELECT to_char(date_trunc('year', month), 'YYYY'), sum(speech_count)
+            FROM speech_month_stats
+            GROUP BY 1
+            ORDER BY 1""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SpeechQueryMetrics queryMetrics;
+
+    public List<AuthorDTO> getAuthorStats(Integer limit) {
+        final int size = resolveLimit(limit);
+        return queryMetrics.recordList("authorStats", SpeechQueryMetrics.NO_FILTERS, () -> jdbcTemplate.query(TOP_AUTHORS,
+                (resultSet, row) -> new AuthorDTO(resultSet.getString(1), resultSet.getLong(2)), size));
+    }
+
+    public List<KeywordCountDTO> getKeywordStats(Integer limit) {
+        final int size = resolveLimit(limit);
+        return queryMetrics.recordList("keywordStats", SpeechQueryMetrics.NO_FILTERS, () -> jdbcTemplate.query(TOP_KEYWORDS,
+                (resultSet, row) -> new KeywordCountDTO(resultSet.getString(1), resultSet.getLong(2)), size));
+    }
+
+    public List<PeriodCountDTO> getTimeline(TimelineBucket bucket) {
+        return queryMetrics.recordList("timelineStats", SpeechQueryMetrics.NO_FILTERS, () -> jdbcTemplate.query(
+                bucket == TimelineBucket.YEAR ? YEARS : MONTHS,
+                (resultSet, row) -> new PeriodCountDTO(resultSet.getString(1), resultSet.getLong(2))));
+    }
+
+    private static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_PAGE_LIMIT);
+    }
+}
@@ -0,0 +1,2 @@
+-- Optimistic locking: every update bumps the version and only applies while it still matches the one read.
+ALTER TABLE speech ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
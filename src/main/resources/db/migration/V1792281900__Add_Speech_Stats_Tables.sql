@@ -0,0 +1,138 @@
+-- Per author, per keyword and per month speech counts for the /api/speeches/stats endpoints, kept current by
+-- statement-level triggers so every write path (JPA, the batch endpoint, bulk DELETE ... RETURNING and the
+-- ON DELETE CASCADE on speech_keyword) is counted. Reads cost one row per group instead of a scan of speech.
+CREATE TABLE speech_author_stats
+(
+    author       VARCHAR(255) PRIMARY KEY,
+    speech_count BIGINT NOT NULL
+);
+
+CREATE TABLE speech_keyword_stats
+(
+    keyword      VARCHAR(255) PRIMARY KEY,
+    speech_count BIGINT NOT NULL
+);
+
+-- the first day of the month, in UTC
+CREATE TABLE speech_month_stats
+(
+    month        DATE PRIMARY KEY,
+    speech_count BIGINT NOT NULL
+);
+
+INSERT INTO speech_author_stats (author, speech_count)
+SELECT author, count(*)
+FROM speech
+GROUP BY author;
+
+INSERT INTO speech_keyword_stats (keyword, speech_count)
+SELECT keyword, count(*)
+FROM speech_keyword
+GROUP BY keyword;
+
+INSERT INTO speech_month_stats (month, speech_count)
+SELECT date_trunc('month', speech_date AT TIME ZONE 'UTC')::date, count(*)
+FROM speech
+GROUP BY 1;
+
+-- Applies +1 per new and -1 per old row, netted per group first: an update that keeps author and date touches no
+-- counter row. A statement touches each counter once and in key order, so two statements cannot deadlock on the
+-- counters. That holds per statement only: a transaction keeps the counter locks of each of its statements, and
+-- two transactions whose statements reach overlapping counters in opposite orders can still deadlock, in which case
+-- PostgreSQL rolls one of them back. Writes keep their statements few for that reason: the keywords of a flush are
+-- inserted as JDBC batches, which the driver rewrites into multi-row INSERTs, so the trigger fires a few times per
+-- flush rather than once per row.
+CREATE FUNCTION speech_stats_track_speeches() RETURNS TRIGGER AS
+$$
+DECLARE
+    new_authors TEXT[]        := '{}';
+    new_dates   TIMESTAMPTZ[] := '{}';
+    old_authors TEXT[]        := '{}';
+    old_dates   TIMESTAMPTZ[] := '{}';
+BEGIN
+    IF TG_OP <> 'DELETE' THEN
+        SELECT coalesce(array_agg(author), '{}'), coalesce(array_agg(speech_date), '{}')
+        INTO new_authors, new_dates
+        FROM new_rows;
+    END IF;
+    IF TG_OP <> 'INSERT' THEN
+        SELECT coalesce(array_agg(author), '{}'), coalesce(array_agg(speech_date), '{}')
+        INTO old_authors, old_dates
+        FROM old_rows;
+    END IF;
+
+    INSERT INTO speech_author_stats AS stats (author, speech_count)
+    SELECT author, sum(change)
+    FROM (SELECT unnest(new_authors) AS author, 1 AS change
+          UNION ALL
+          SELECT unnest(old_authors), -1) delta
+    GROUP BY author
+    HAVING sum(change) <> 0
+    ORDER BY author
+    ON CONFLICT (author) DO UPDATE SET speech_count = stats.speech_count + excluded.speech_count;
+    DELETE FROM speech_author_stats WHERE author = ANY (old_authors) AND speech_count <= 0;
+
+    INSERT INTO speech_month_stats AS stats (month, speech_count)
+    SELECT month, sum(change)
+    FROM (SELECT date_trunc('month', unnest(new_dates) AT TIME ZONE 'UTC')::date AS month, 1 AS change
+          UNION ALL
+          SELECT date_trunc('month', unnest(old_dates) AT TIME ZONE 'UTC')::date, -1) delta
+    GROUP BY month
+    HAVING sum(change) <> 0
+    ORDER BY month
+    ON CONFLICT (month) DO UPDATE SET speech_count = stats.speech_count + excluded.speech_count;
+    DELETE FROM speech_month_stats WHERE speech_count <= 0
+                                     AND month = ANY (ARRAY(SELECT date_trunc('month', unnest(old_dates) AT TIME ZONE 'UTC')::date));
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION speech_stats_track_keywords() RETURNS TRIGGER AS
+$$
+DECLARE
+    new_keywords TEXT[] := '{}';
+    old_keywords TEXT[] := '{}';
+BEGIN
+    IF TG_OP <> 'DELETE' THEN
+        SELECT coalesce(array_agg(keyword), '{}') INTO new_keywords FROM new_rows;
+    END IF;
+    IF TG_OP <> 'INSERT' THEN
+        SELECT coalesce(array_agg(keyword), '{}') INTO old_keywords FROM old_rows;
+    END IF;
+
+    INSERT INTO speech_keyword_stats AS stats (keyword, speech_count)
+    SELECT keyword, sum(change)
+    FROM (SELECT unnest(new_keywords) AS keyword, 1 AS change
+          UNION ALL
+          SELECT unnest(old_keywords), -1) delta
+    GROUP BY keyword
+    HAVING sum(change) <> 0
+    ORDER BY keyword
+    ON CONFLICT (keyword) DO UPDATE SET speech_count = stats.speech_count + excluded.speech_count;
+    DELETE FROM speech_keyword_stats WHERE keyword = ANY (old_keywords) AND speech_count <= 0;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- transition tables are only allowed on triggers for a single event
+CREATE TRIGGER speech_stats_after_insert
+    AFTER INSERT ON speech REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_speeches();
+CREATE TRIGGER speech_stats_after_update
+    AFTER UPDATE ON speech REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_speeches();
+CREATE TRIGGER speech_stats_after_delete
+    AFTER DELETE ON speech REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_speeches();
+
+CREATE TRIGGER speech_keyword_stats_after_insert
+    AFTER INSERT ON speech_keyword REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_keywords();
+CREATE TRIGGER speech_keyword_stats_after_update
+    AFTER UPDATE ON speech_keyword REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_keywords();
+CREATE TRIGGER speech_keyword_stats_after_delete
+    AFTER DELETE ON speech_keyword REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_keywords();
@@ -0,0 +1,144 @@
+-- Range-partitions speech and speech_keyword by the UTC year of speech_date, so date-bounded searches and the
+-- duplicate check, which pins speech_date, only read the partitions they can match. Every unique key of a
+-- partitioned table has to contain the partition key: the primary keys gain speech_date, the fingerprint index
+-- becomes (content_fingerprint, speech_date), which enforces the same rule because the fingerprint covers the
+-- date, and speech_keyword carries the date of its speech to reference it. The foreign key stays on the parents,
+-- where PostgreSQL turns a speech moving to another year into an ON UPDATE CASCADE rather than a delete.
+-- There is no default partition, which would rule out DETACH PARTITION ... CONCURRENTLY for old years.
+
+-- Creates the partitions of one year unless they exist. They are created standalone and then attached, which
+-- locks the parents in SHARE UPDATE EXCLUSIVE mode rather than ACCESS EXCLUSIVE, so reads carry on meanwhile.
+CREATE FUNCTION speech_create_year_partition(partition_year INTEGER) RETURNS BOOLEAN AS
+$$
+DECLARE
+    lower_bound TIMESTAMPTZ := make_timestamptz(partition_year, 1, 1, 0, 0, 0, 'UTC');
+    upper_bound TIMESTAMPTZ := make_timestamptz(partition_year + 1, 1, 1, 0, 0, 0, 'UTC');
+BEGIN
+    -- instances creating the same year one after the other find it there
+    PERFORM pg_advisory_xact_lock(hashtext('speech_create_year_partition'));
+    IF to_regclass(format('speech_y%s', partition_year)) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE speech_y%s (LIKE speech INCLUDING DEFAULTS)', partition_year);
+    EXECUTE format('ALTER TABLE speech ATTACH PARTITION speech_y%s FOR VALUES FROM (%L) TO (%L)',
+                   partition_year, lower_bound, upper_bound);
+    EXECUTE format('CREATE TABLE speech_keyword_y%s (LIKE speech_keyword INCLUDING DEFAULTS)', partition_year);
+    EXECUTE format('ALTER TABLE speech_keyword ATTACH PARTITION speech_keyword_y%s FOR VALUES FROM (%L) TO (%L)',
+                   partition_year, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Takes the speeches and keywords of tables detached from speech and speech_keyword out of the stats, which
+-- DETACH PARTITION does not fire triggers for. Counters are changed in key order, as the triggers do.
+CREATE FUNCTION speech_stats_forget(speeches REGCLASS, keywords REGCLASS) RETURNS VOID AS
+$$
+BEGIN
+    EXECUTE format('INSERT INTO speech_author_stats AS stats (author, speech_count)
+                    SELECT author, -count(*) FROM %s GROUP BY author ORDER BY author
+                    ON CONFLICT (author) DO UPDATE SET speech_count = stats.speech_count + excluded.speech_count',
+                   speeches);
+    DELETE FROM speech_author_stats WHERE speech_count <= 0;
+
+    EXECUTE format('INSERT INTO speech_month_stats AS stats (month, speech_count)
+                    SELECT date_trunc(''month'', speech_date AT TIME ZONE ''UTC'')::date, -count(*) FROM %s
+                    GROUP BY 1 ORDER BY 1
+                    ON CONFLICT (month) DO UPDATE SET speech_count = stats.speech_count + excluded.speech_count',
+                   speeches);
+    DELETE FROM speech_month_stats WHERE speech_count <= 0;
+
+    EXECUTE format('INSERT INTO speech_keyword_stats AS stats (keyword, speech_count)
+                    SELECT keyword, -count(*) FROM %s GROUP BY keyword ORDER BY keyword
+                    ON CONFLICT (keyword) DO UPDATE SET speech_count = stats.speech_count + excluded.speech_count',
+                   keywords);
+    DELETE FROM speech_keyword_stats WHERE speech_count <= 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- the old tables are dropped below, their sequence has to outlive them
+ALTER SEQUENCE speech_id_seq OWNED BY NONE;
+
+ALTER TABLE speech RENAME TO speech_unpartitioned;
+ALTER TABLE speech_keyword RENAME TO speech_keyword_unpartitioned;
+ALTER TABLE speech_unpartitioned RENAME CONSTRAINT speech_pkey TO speech_unpartitioned_pkey;
+ALTER TABLE speech_keyword_unpartitioned RENAME CONSTRAINT speech_keyword_pkey TO speech_keyword_unpartitioned_pkey;
+DROP INDEX idx_speech_content_fulltext, idx_speech_author_partial, idx_speech_speech_date,
+    uq_speech_content_fingerprint, idx_speech_keyword_keyword;
+
+CREATE TABLE speech
+(
+    id                  BIGINT       NOT NULL DEFAULT nextval('speech_id_seq'),
+    content             TEXT         NOT NULL,
+    author              VARCHAR(255) NOT NULL,
+    speech_date         TIMESTAMPTZ  NOT NULL,
+    create_date_time    TIMESTAMPTZ  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_date_time    TIMESTAMPTZ  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    content_fingerprint VARCHAR(64)  NOT NULL,
+    version             BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, speech_date)
+) PARTITION BY RANGE (speech_date);
+
+CREATE INDEX idx_speech_content_fulltext ON speech USING gin (to_tsvector('english', content));
+CREATE INDEX idx_speech_author_partial ON speech (author text_pattern_ops);
+CREATE INDEX idx_speech_speech_date ON speech (speech_date);
+CREATE UNIQUE INDEX uq_speech_content_fingerprint ON speech (content_fingerprint, speech_date);
+
+CREATE TABLE speech_keyword
+(
+    speech_id   BIGINT       NOT NULL,
+    keyword     VARCHAR(255) NOT NULL,
+    speech_date TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (speech_id, keyword, speech_date),
+    CONSTRAINT fk_speech_keyword_speech FOREIGN KEY (speech_id, speech_date)
+        REFERENCES speech (id, speech_date) ON DELETE CASCADE ON UPDATE CASCADE
+) PARTITION BY RANGE (speech_date);
+
+CREATE INDEX idx_speech_keyword_keyword ON speech_keyword (keyword);
+
+-- every year holding speeches, and the next one
+SELECT speech_create_year_partition(partition_year)
+FROM generate_series(
+             (SELECT coalesce(min(extract(YEAR FROM speech_date AT TIME ZONE 'UTC'))::INTEGER,
+                              extract(YEAR FROM now() AT TIME ZONE 'UTC')::INTEGER)
+              FROM speech_unpartitioned),
+             (SELECT greatest(max(extract(YEAR FROM speech_date AT TIME ZONE 'UTC'))::INTEGER,
+                              extract(YEAR FROM now() AT TIME ZONE 'UTC')::INTEGER) + 1
+              FROM speech_unpartitioned)) partition_year;
+
+-- the stats already count these rows, the new tables only get their triggers once the copy is done
+INSERT INTO speech (id, content, author, speech_date, create_date_time, update_date_time, content_fingerprint, version)
+SELECT id, content, author, speech_date, create_date_time, update_date_time, content_fingerprint, version
+FROM speech_unpartitioned;
+
+INSERT INTO speech_keyword (speech_id, keyword, speech_date)
+SELECT k.speech_id, k.keyword, s.speech_date
+FROM speech_keyword_unpartitioned k
+         JOIN speech_unpartitioned s ON s.id = k.speech_id;
+
+DROP TABLE speech_keyword_unpartitioned;
+DROP TABLE speech_unpartitioned;
+
+ALTER SEQUENCE speech_id_seq OWNED BY speech.id;
+
+-- statement-level triggers on a partitioned table see the rows of every partition in their transition tables,
+-- including rows changed by the cascades of the foreign key
+CREATE TRIGGER speech_stats_after_insert
+    AFTER INSERT ON speech REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_speeches();
+CREATE TRIGGER speech_stats_after_update
+    AFTER UPDATE ON speech REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_speeches();
+CREATE TRIGGER speech_stats_after_delete
+    AFTER DELETE ON speech REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_speeches();
+
+CREATE TRIGGER speech_keyword_stats_after_insert
+    AFTER INSERT ON speech_keyword REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_keywords();
+CREATE TRIGGER speech_keyword_stats_after_update
+    AFTER UPDATE ON speech_keyword REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_keywords();
+CREATE TRIGGER speech_keyword_stats_after_delete
+    AFTER DELETE ON speech_keyword REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION speech_stats_track_keywords();
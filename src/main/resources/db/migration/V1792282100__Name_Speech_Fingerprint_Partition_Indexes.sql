@@ -0,0 +1,48 @@
+-- PostgreSQL reports a unique violation on a partitioned table under the name of the partition's index, which it
+-- names after the table (speech_y2024_content_fingerprint_speech_date_key and the like) unless one exists already.
+-- The fingerprint indexes of the partitions are named uq_speech_content_fingerprint_y<year> instead, so a racing
+-- duplicate can still be told apart from other violations by the prefix of the constraint name.
+
+-- as in V1792282000, with the fingerprint index created on the standalone table, which ATTACH PARTITION adopts
+CREATE OR REPLACE FUNCTION speech_create_year_partition(partition_year INTEGER) RETURNS BOOLEAN AS
+$$
+DECLARE
+    lower_bound TIMESTAMPTZ := make_timestamptz(partition_year, 1, 1, 0, 0, 0, 'UTC');
+    upper_bound TIMESTAMPTZ := make_timestamptz(partition_year + 1, 1, 1, 0, 0, 0, 'UTC');
+BEGIN
+    -- instances creating the same year one after the other find it there
+    PERFORM pg_advisory_xact_lock(hashtext('speech_create_year_partition'));
+    IF to_regclass(format('speech_y%s', partition_year)) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE speech_y%s (LIKE speech INCLUDING DEFAULTS)', partition_year);
+    EXECUTE format('CREATE UNIQUE INDEX uq_speech_content_fingerprint_y%1$s ON speech_y%1$s (content_fingerprint, speech_date)',
+                   partition_year);
+    EXECUTE format('ALTER TABLE speech ATTACH PARTITION speech_y%s FOR VALUES FROM (%L) TO (%L)',
+                   partition_year, lower_bound, upper_bound);
+    EXECUTE format('CREATE TABLE speech_keyword_y%s (LIKE speech_keyword INCLUDING DEFAULTS)', partition_year);
+    EXECUTE format('ALTER TABLE speech_keyword ATTACH PARTITION speech_keyword_y%s FOR VALUES FROM (%L) TO (%L)',
+                   partition_year, lower_bound, upper_bound);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- the partitions created so far carry the generated names
+DO
+$$
+DECLARE
+    partition_index RECORD;
+BEGIN
+    FOR partition_index IN
+        SELECT i.inhrelid::REGCLASS AS index_name, t.relname AS table_name
+        FROM pg_inherits i
+                 JOIN pg_index x ON x.indexrelid = i.inhrelid
+                 JOIN pg_class t ON t.oid = x.indrelid
+        WHERE i.inhparent = CAST('uq_speech_content_fingerprint' AS REGCLASS)
+        LOOP
+            EXECUTE format('ALTER INDEX %s RENAME TO %I', partition_index.index_name,
+                           'uq_speech_content_fingerprint_' || substring(partition_index.table_name FROM '_(y[0-9]+)$'));
+        END LOOP;
+END;
+$$;
@@ -1,22 +1,46 @@
 package tech.challenge.speech.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import tech.challenge.speech.exception.GlobalExceptionHandler;
+import tech.challenge.speech.model.dto.ApiResponseWrapper;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechRepository;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static tech.challenge.speech.common.Constants.*;
 
 @Testcontainers
@@ -27,6 +51,12 @@ class SpeechControllerIntegrationTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private SpeechRepository speechRepository;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
     @Container
     static PostgreSQLContainer<?> postgresContainer;
 
@@ -178,6 +208,73 @@ class SpeechControllerIntegrationTest {
                 .body("data[0].keywords", hasItems("equality", "justice"));
     }
 
+    @Test
+    void shouldSearchSpeechesMatchingAllKeywords() {
+        given()
+                .queryParam("keywords", "RIGHTS,freedom")
+                .queryParam("keywordMatch", "ALL").log().all()
+                .when()
+                .get("/api/speeches/search")
+                .then().log().all()
+                .statusCode(200)
+                .body("data.size()", is(1))
+                .body("data[0].content", is("Human rights are non-negotiable"));
+
+        given()
+                .queryParam("keywords", "rights,equality")
+                .queryParam("keywordMatch", "ALL").log().all()
+                .when()
+                .get("/api/speeches/search")
+                .then().log().all()
+                .statusCode(404)
+                .body("message", is("No speeches found matching the search criteria"));
+    }
+
+    @Test
+    void shouldSuggestAuthorsByPrefixIncludingNewlyCreatedOnes() {
+        given()
+                .queryParam("prefix", "JANE").log().all()
+                .when()
+                .get("/api/speeches/authors")
+                .then().log().all()
+                .statusCode(200)
+                .body("message", is(AUTHORS_RETRIEVED))
+                .body("data.size()", is(1))
+                .body("data[0].author", is("Jane Smith"))
+                .body("data[0].speechCount", is(1));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "content": "Truth is the only safe ground to stand upon",
+                            "author": "Zora Neale Hurston",
+                            "keywords": ["truth"],
+                            "speechDate": "2024-05-01T10:00:00Z"
+                        }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201);
+
+        given()
+                .queryParam("prefix", "zora")
+                .when()
+                .get("/api/speeches/authors")
+                .then().log().all()
+                .statusCode(200)
+                .body("data.author", contains("Zora Neale Hurston"));
+
+        given()
+                .queryParam("prefix", "j")
+                .queryParam("limit", 0)
+                .when()
+                .get("/api/speeches/authors")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void shouldReturnEmptyWhenNoResultsFound() {
         given()
@@ -329,6 +426,114 @@ class SpeechControllerIntegrationTest {
                 .body("data.keywords", hasItems("updated", "speech", "keywords"));
     }
 
+    @Test
+    void shouldPatchOnlyTheSentFieldsAndRejectStaleVersions() {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "content": "A speech that is patched piece by piece.",
+                            "author": "Patch Author",
+                            "keywords": ["first", "second"],
+                            "speechDate": "2023-11-05T00:00:00Z"
+                        }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201)
+                .body("data.version", is(0))
+                .extract().path("data.id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"version\": 0, \"addKeywords\": [\"Third\"], \"removeKeywords\": [\"first\"]}").log().all()
+                .when()
+                .patch("/api/speeches/{id}", id)
+                .then().log().all()
+                .statusCode(200)
+                .body("message", is(SPEECH_UPDATED))
+                .body("data.version", is(1))
+                .body("data.content", is("A speech that is patched piece by piece."))
+                .body("data.keywords", containsInAnyOrder("second", "third"));
+
+        // a second writer still holding version 0 does not overwrite the change
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"version\": 0, \"author\": \"Someone Else\"}")
+                .when()
+                .patch("/api/speeches/{id}", id)
+                .then().log().all()
+                .statusCode(409)
+                .body("message", is(VERSION_CONFLICT_MESSAGE));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"version\": 1, \"content\": \"A speech that was patched.\"}")
+                .when()
+                .patch("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("data.version", is(2))
+                .body("data.author", is("Patch Author"));
+
+        // the fingerprint followed the patched content
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "content": "A speech that was patched.",
+                            "author": "Patch Author",
+                            "keywords": ["second", "third"],
+                            "speechDate": "2023-11-05T00:00:00Z"
+                        }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(409)
+                .body("message", is(DUPLICATE_SPEECH_MESSAGE));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "id": %d,
+                            "version": 1,
+                            "content": "A full update from an old read.",
+                            "author": "Patch Author",
+                            "keywords": ["second"],
+                            "speechDate": "2023-11-05T00:00:00Z"
+                        }
+                        """.formatted(id))
+                .when()
+                .put("/api/speeches/{id}", id)
+                .then()
+                .statusCode(409)
+                .body("message", is(VERSION_CONFLICT_MESSAGE));
+    }
+
+    @Test
+    void shouldReturnBadRequestForPatchWithoutVersionOrWithBlankContent() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"content\": \"No version\"}")
+                .when()
+                .patch("/api/speeches/{id}", 1)
+                .then().log().all()
+                .statusCode(400)
+                .body("errors", hasItem("version: Version cannot be null"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"version\": 0, \"content\": \" \"}")
+                .when()
+                .patch("/api/speeches/{id}", 1)
+                .then()
+                .statusCode(400)
+                .body("errors", hasItem("content: Content cannot be blank"));
+    }
+
     @Test
     void updateShouldReturnNotFoundForNonexistentSpeech() {
         String updateRequestBody = """
@@ -400,6 +605,303 @@ class SpeechControllerIntegrationTest {
                 .body("message", is("Conflict: ID in path does not match ID in request body"));
     }
 
+    @Test
+    void shouldBulkDeleteSpeechesMatchingTheCriteriaInChunks() {
+        List<Integer> ids = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            ids.add(given()
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            {
+                                "content": "Speech number %d about to be cleaned up.",
+                                "author": "Bulk Delete Author",
+                                "keywords": ["cleanup", "bulk"],
+                                "speechDate": "2023-11-05T00:00:00Z"
+                            }
+                            """.formatted(index))
+                    .when()
+                    .post("/api/speeches")
+                    .then()
+                    .statusCode(201)
+                    .extract().path("data.id"));
+        }
+
+        given()
+                .when()
+                .delete("/api/speeches?author=Bulk Delete&keywords=cleanup&dryRun=true")
+                .then().log().all()
+                .statusCode(200)
+                .body("message", is(SPEECHES_COUNTED))
+                .body("data.count", is(5))
+                .body("data.dryRun", is(true));
+
+        given()
+                .when()
+                .delete("/api/speeches?author=Bulk Delete&keywords=cleanup")
+                .then().log().all()
+                .statusCode(200)
+                .body("message", is(SPEECHES_DELETED))
+                .body("data.count", is(5))
+                .body("data.dryRun", is(false));
+
+        ids.forEach(id -> given()
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(404));
+        // the keyword index forgot them too
+        given()
+                .when()
+                .get("/api/speeches/search?keywords=cleanup")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void shouldRejectBulkDeleteWithoutCriteria() {
+        given()
+                .when()
+                .delete("/api/speeches")
+                .then().log().all()
+                .statusCode(400)
+                .body("message", is(BULK_DELETE_CRITERIA_REQUIRED_MESSAGE));
+
+        given()
+                .when()
+                .delete("/api/speeches?startDate=2023-01-01T00:00:00Z")
+                .then()
+                .statusCode(400)
+                .body("message", is(DATE_RANGE_INCOMPLETE_MESSAGE));
+    }
+
+    @Test
+    void shouldKeepAuthorKeywordAndTimelineStatsCurrentAcrossWrites() {
+        List<Integer> ids = new ArrayList<>();
+        for (String body : List.of("""
+                {
+                    "content": "Counted once in January.",
+                    "author": "Stats Author",
+                    "keywords": ["statsalpha", "statsbeta"],
+                    "speechDate": "2031-01-10T00:00:00Z"
+                }
+                """, """
+                {
+                    "content": "Counted once in February.",
+                    "author": "Stats Author",
+                    "keywords": ["statsalpha"],
+                    "speechDate": "2031-02-10T00:00:00Z"
+                }
+                """)) {
+            ids.add(given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .when()
+                    .post("/api/speeches")
+                    .then()
+                    .statusCode(201)
+                    .extract().path("data.id"));
+        }
+
+        given()
+                .when()
+                .get("/api/speeches/stats/authors?limit=500")
+                .then().log().all()
+                .statusCode(200)
+                .body("message", is(STATS_RETRIEVED))
+                .body("data.find { it.author == 'Stats Author' }.speechCount", is(2));
+        given()
+                .when()
+                .get("/api/speeches/stats/keywords?limit=500")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.keyword == 'statsalpha' }.speechCount", is(2))
+                .body("data.find { it.keyword == 'statsbeta' }.speechCount", is(1));
+        given()
+                .when()
+                .get("/api/speeches/stats/timeline")
+                .then().log().all()
+                .statusCode(200)
+                .body("data.find { it.period == '2031-01' }.speechCount", is(1))
+                .body("data.find { it.period == '2031-02' }.speechCount", is(1));
+
+        // moved into January and tagged, keyword rows are inserted one by one
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"version\": 0, \"speechDate\": \"2031-01-20T00:00:00Z\", \"addKeywords\": [\"statsbeta\"]}")
+                .when()
+                .patch("/api/speeches/{id}", ids.get(1))
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/api/speeches/stats/timeline?bucket=YEAR")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.period == '2031' }.speechCount", is(2));
+        given()
+                .when()
+                .get("/api/speeches/stats/timeline")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.period == '2031-01' }.speechCount", is(2))
+                .body("data.find { it.period == '2031-02' }", is(nullValue()));
+        given()
+                .when()
+                .get("/api/speeches/stats/keywords?limit=500")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.keyword == 'statsbeta' }.speechCount", is(2));
+
+        // a bulk delete cascades to speech_keyword, which is counted as well
+        given()
+                .when()
+                .delete("/api/speeches?author=Stats Author")
+                .then()
+                .statusCode(200)
+                .body("data.count", is(2));
+
+        given()
+                .when()
+                .get("/api/speeches/stats/authors?limit=500")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.author == 'Stats Author' }", is(nullValue()));
+        given()
+                .when()
+                .get("/api/speeches/stats/keywords?limit=500")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.keyword == 'statsalpha' }", is(nullValue()));
+    }
+
+    @Test
+    void shouldLeaveContentOutOfSummariesAndCutExcerptsOnRequest() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "content": "Summaries carry an excerpt of this content at most",
+                                "author": "Summary Author",
+                                "keywords": ["summary"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201);
+
+        given()
+                .when()
+                .get("/api/speeches/search?author=Summary Author&view=SUMMARY")
+                .then()
+                .statusCode(200)
+                .body("data[0].author", is("Summary Author"))
+                .body("data[0].keywords", contains("summary"))
+                .body("data[0]", not(hasKey("content")))
+                .body("data[0]", not(hasKey("excerpt")));
+        given()
+                .when()
+                .get("/api/speeches/search?author=Summary Author&view=SUMMARY&excerptLength=9")
+                .then()
+                .statusCode(200)
+                .body("data[0].excerpt", is("Summaries"))
+                .body("data[0]", not(hasKey("content")));
+        given()
+                .when()
+                .get("/api/speeches?view=SUMMARY&excerptLength=1&limit=1")
+                .then()
+                .statusCode(200)
+                .body("data[0].excerpt.length()", is(1))
+                .body("data[0]", not(hasKey("content")));
+        given()
+                .when()
+                .get("/api/speeches/search?author=Summary Author")
+                .then()
+                .statusCode(200)
+                .body("data[0].content", is("Summaries carry an excerpt of this content at most"))
+                .body("data[0]", not(hasKey("excerpt")));
+        given()
+                .when()
+                .get("/api/speeches/search?author=Summary Author&excerptLength=9")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void shouldReturnFacetCountsOverEveryMatchAlongsideAPage() {
+        for (String body : List.of("""
+                {
+                    "content": "Faceted in 2032, first.",
+                    "author": "Facet Author A",
+                    "keywords": ["facetone", "facettwo"],
+                    "speechDate": "2032-03-01T00:00:00Z"
+                }
+                """, """
+                {
+                    "content": "Faceted in 2032, second.",
+                    "author": "Facet Author A",
+                    "keywords": ["facetone"],
+                    "speechDate": "2032-04-01T00:00:00Z"
+                }
+                """, """
+                {
+                    "content": "Faceted in 2033.",
+                    "author": "Facet Author B",
+                    "keywords": ["facetone", "facettwo"],
+                    "speechDate": "2033-01-01T00:00:00Z"
+                }
+                """)) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .when()
+                    .post("/api/speeches")
+                    .then()
+                    .statusCode(201);
+        }
+
+        // one speech on the page, counts over all three
+        given()
+                .when()
+                .get("/api/speeches/search?keywords=facetone&limit=1&facets=keywords,author,year")
+                .then()
+                .statusCode(200)
+                .body("data.size()", is(1))
+                .body("nextCursor", notNullValue())
+                .body("facets.keywords[0].value", is("facetone"))
+                .body("facets.keywords[0].speechCount", is(3))
+                .body("facets.keywords[1].value", is("facettwo"))
+                .body("facets.keywords[1].speechCount", is(2))
+                .body("facets.author.value", contains("Facet Author A", "Facet Author B"))
+                .body("facets.author.speechCount", contains(2, 1))
+                .body("facets.year.value", contains("2032", "2033"));
+
+        given()
+                .when()
+                .get("/api/speeches/search?author=Facet Author&facets=year&facetLimit=1")
+                .then()
+                .statusCode(200)
+                .body("data.size()", is(3))
+                .body("facets", aMapWithSize(1))
+                .body("facets.year.value", contains("2032"))
+                .body("facets.year.speechCount", contains(2));
+
+        given()
+                .when()
+                .get("/api/speeches/search?author=Facet Author")
+                .then()
+                .statusCode(200)
+                .body("facets", is(nullValue()));
+
+        given()
+                .when()
+                .get("/api/speeches/search?author=Facet Author&facets=colour")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void shouldRetrieveAllSpeeches() {
         given()
@@ -466,4 +968,862 @@ class SpeechControllerIntegrationTest {
                 .body("status", is(409))
                 .body("message", containsString("A speech with the same content, author, date, and keywords already exists."));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPageThroughSpeechesWithCursor() {
+        String nextCursor = given()
+                .queryParam("limit", 2).log().all()
+                .when()
+                .get("/api/speeches")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("data.size()", is(2))
+                .body("data.id", contains(1, 2)) // seed data ordered by speech date
+                .body("nextCursor", is(notNullValue()))
+                .extract().path("nextCursor");
+
+        given()
+                .queryParam("limit", 2)
+                .queryParam("cursor", nextCursor).log().all()
+                .when()
+                .get("/api/speeches")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("data.size()", is(2))
+                .body("data[0].id", is(3));
+    }
+
+    @Test
+    void shouldOmitNextCursorOnLastSearchPage() {
+        given()
+                .queryParam("author", "John")
+                .queryParam("limit", 2).log().all()
+                .when()
+                .get("/api/speeches/search")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("data.size()", is(2))
+                .body("nextCursor", is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() {
+        given()
+                .queryParam("cursor", "not-a-cursor").log().all()
+                .when()
+                .get("/api/speeches")
+                .then().log().all()
+                .statusCode(400)
+                .contentType(ContentType.JSON)
+                .body("status", is(400))
+                .body("message", is("Invalid cursor: not-a-cursor"));
+    }
+
+    @Test
+    void shouldExportSpeechesAsNdjson() {
+        String body = given()
+                .queryParam("author", "John").log().all()
+                .when()
+                .get("/api/speeches/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length, is(2)); // 2 speeches from seed data authored by John Doe
+        assertThat(lines[0], containsString("\"content\":\"Equality and justice for all\""));
+        assertThat(lines[1], containsString("\"content\":\"Economic stability is key to peace\""));
+    }
+
+    @Test
+    void shouldExportSpeechesAcrossSeveralChunks() {
+        String body = given()
+                .log().all()
+                .when()
+                .get("/api/speeches/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        // the test fetch size is 2, so the seed data is written in several chunks
+        assertThat(body.split("\n").length, greaterThanOrEqualTo(4));
+        assertThat(body, endsWith("\n"));
+    }
+
+    @Test
+    void shouldSearchSpeechesByFullTextRankedWithHeadlines() {
+        given()
+                .queryParam("q", "rights or \"economic stability\"")
+                .queryParam("headline", true).log().all()
+                .when()
+                .get("/api/speeches/search/fulltext")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("status", is(200))
+                .body("message", is(SPEECHES_RETRIEVED))
+                .body("data.size()", is(2))
+                .body("data.speech.author", hasItems("Jane Smith", "John Doe"))
+                .body("data[0].rank", greaterThanOrEqualTo(Float.valueOf(0)))
+                .body("data.headline", everyItem(containsString("<b>")));
+    }
+
+    @Test
+    void shouldMatchFullTextOnStemmedWords() {
+        given()
+                .queryParam("q", "economics").log().all() // stems to the same lexeme as "economic"
+                .when()
+                .get("/api/speeches/search/fulltext")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("data.size()", is(1))
+                .body("data[0].speech.content", is("Economic stability is key to peace"))
+                .body("data[0].headline", is(nullValue()));
+    }
+
+    @Test
+    void shouldReturnBadRequestForMissingFullTextQuery() {
+        given()
+                .log().all()
+                .when()
+                .get("/api/speeches/search/fulltext")
+                .then().log().all()
+                .statusCode(400)
+                .contentType(ContentType.JSON)
+                .body("status", is(400))
+                .body("message", is("Full-text query cannot be empty"));
+    }
+
+    @Test
+    void shouldReturnConflictForDuplicateDifferingOnlyInCaseAndKeywordOrder() {
+        String duplicateRequestBody = """
+                {
+                    "content": "ECONOMIC stability is key to peace",
+                    "author": "john doe",
+                    "keywords": ["Peace", "ECONOMY"],
+                    "speechDate": "2023-03-10T20:00:00+08:00"
+                }
+            """;
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(duplicateRequestBody).log().all()
+                .when()
+                .post("/api/speeches")
+                .then()
+                .log().all()
+                .statusCode(409)
+                .contentType(ContentType.JSON)
+                .body("status", is(409))
+                .body("message", is(DUPLICATE_SPEECH_MESSAGE));
+    }
+
+    // a duplicate that got past the duplicate check, as two racing inserts do, is stopped by the fingerprint
+    // index of its year's partition
+    @Test
+    void shouldReturnConflictForDuplicateRejectedByTheFingerprintIndex() {
+        Speech duplicate = new Speech();
+        duplicate.setContent("Equality and justice for all");
+        duplicate.setAuthor("John Doe");
+        duplicate.setKeywords(new HashSet<>(Set.of("equality", "justice")));
+        duplicate.setSpeechDate(OffsetDateTime.parse("2023-01-01T10:00:00Z"));
+
+        DataIntegrityViolationException violation = assertThrows(DataIntegrityViolationException.class,
+                () -> speechRepository.saveAndFlush(duplicate));
+
+        ResponseEntity<ApiResponseWrapper<Object>> response = exceptionHandler.handleDataIntegrityViolationException(violation);
+        assertThat(response.getStatusCode(), is(HttpStatus.CONFLICT));
+        assertThat(response.getBody().getMessage(), is(DUPLICATE_SPEECH_MESSAGE));
+    }
+
+    @Test
+    void shouldUpdateSpeechWithUnchangedContent() {
+        String unchangedRequestBody = """
+                {
+                    "id": 3,
+                    "content": "Economic stability is key to peace",
+                    "author": "John Doe",
+                    "keywords": ["economy", "peace"],
+                    "speechDate": "2023-03-10T12:00:00Z"
+                }
+            """;
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(unchangedRequestBody).log().all()
+                .when()
+                .put("/api/speeches/{id}", 3)
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("data.id", is(3));
+    }
+
+    @Test
+    void shouldApplyBatchWithPerItemResults() {
+        String batchRequestBody = """
+                {
+                    "operations": [
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Batch speech one",
+                                "author": "Batch Author",
+                                "keywords": ["batch"],
+                                "speechDate": "2024-05-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Batch speech two",
+                                "author": "Batch Author",
+                                "keywords": ["batch", "two"],
+                                "speechDate": "2024-05-02T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Equality and justice for all",
+                                "author": "John Doe",
+                                "keywords": ["equality", "justice"],
+                                "speechDate": "2023-01-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "author": "Batch Author"
+                            }
+                        },
+                        {
+                            "type": "DELETE",
+                            "id": 9999
+                        }
+                    ]
+                }
+            """;
+
+        List<Integer> createdIds = given()
+                .contentType(ContentType.JSON)
+                .body(batchRequestBody).log().all()
+                .when()
+                .post("/api/speeches/batch")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("status", is(200))
+                .body("message", is(BATCH_PROCESSED))
+                .body("data.status", contains(201, 201, 409, 400, 404))
+                .body("data.index", contains(0, 1, 2, 3, 4))
+                .extract().path("data.findAll { it.status == 201 }.id");
+
+        String followUpRequestBody = """
+                {
+                    "operations": [
+                        {
+                            "type": "UPDATE",
+                            "id": %d,
+                            "speech": {
+                                "content": "Batch speech one, revised",
+                                "author": "Batch Author",
+                                "keywords": ["batch", "revised"],
+                                "speechDate": "2024-05-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "DELETE",
+                            "id": %d
+                        }
+                    ]
+                }
+            """.formatted(createdIds.get(0), createdIds.get(1));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(followUpRequestBody).log().all()
+                .when()
+                .post("/api/speeches/batch")
+                .then().log().all()
+                .statusCode(200)
+                .body("data.status", contains(200, 200));
+
+        given()
+                .when()
+                .get("/api/speeches/{id}", createdIds.get(0))
+                .then()
+                .statusCode(200)
+                .body("data.content", is("Batch speech one, revised"))
+                .body("data.keywords", containsInAnyOrder("batch", "revised"));
+
+        given()
+                .when()
+                .get("/api/speeches/{id}", createdIds.get(1))
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void shouldLetABatchClaimFingerprintsFreedEarlierInTheSameBatch() {
+        String seedRequestBody = """
+                {
+                    "operations": [
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Freed by an update",
+                                "author": "Batch Author",
+                                "keywords": ["freed"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Freed by a delete",
+                                "author": "Batch Author",
+                                "keywords": ["freed"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Claims a freed fingerprint",
+                                "author": "Batch Author",
+                                "keywords": ["freed"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        }
+                    ]
+                }
+            """;
+
+        List<Integer> ids = given()
+                .contentType(ContentType.JSON)
+                .body(seedRequestBody)
+                .when()
+                .post("/api/speeches/batch")
+                .then().log().all()
+                .statusCode(200)
+                .body("data.status", contains(201, 201, 201))
+                .extract().path("data.id");
+
+        String freeThenClaimRequestBody = """
+                {
+                    "operations": [
+                        {
+                            "type": "UPDATE",
+                            "id": %d,
+                            "speech": {
+                                "content": "Freed by an update, revised",
+                                "author": "Batch Author",
+                                "keywords": ["freed"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "CREATE",
+                            "speech": {
+                                "content": "Freed by an update",
+                                "author": "Batch Author",
+                                "keywords": ["freed"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        },
+                        {
+                            "type": "DELETE",
+                            "id": %d
+                        },
+                        {
+                            "type": "UPDATE",
+                            "id": %d,
+                            "speech": {
+                                "content": "Freed by a delete",
+                                "author": "Batch Author",
+                                "keywords": ["freed"],
+                                "speechDate": "2024-07-01T10:00:00Z"
+                            }
+                        }
+                    ]
+                }
+            """.formatted(ids.get(0), ids.get(1), ids.get(2));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(freeThenClaimRequestBody).log().all()
+                .when()
+                .post("/api/speeches/batch")
+                .then().log().all()
+                .statusCode(200)
+                .body("data.status", contains(200, 201, 200, 200));
+
+        given()
+                .when()
+                .get("/api/speeches/{id}", ids.get(2))
+                .then()
+                .statusCode(200)
+                .body("data.content", is("Freed by a delete"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyBatch() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"operations\": []}").log().all()
+                .when()
+                .post("/api/speeches/batch")
+                .then().log().all()
+                .statusCode(400)
+                .body("message", is("Validation failed"));
+    }
+
+    @Test
+    void shouldQueueAsyncCreatesAndReportTheirOutcomeOnTheTicket() throws InterruptedException {
+        String requestBody = """
+                    {
+                        "content": "Queued words travel in good company.",
+                        "author": "Async Author",
+                        "keywords": ["queue"],
+                        "speechDate": "2023-11-05T00:00:00Z"
+                    }
+                """;
+
+        Response accepted = given()
+                .contentType(ContentType.JSON)
+                .body(requestBody).log().all()
+                .when()
+                .post("/api/speeches?async=true")
+                .then().log().all()
+                .statusCode(202)
+                .body("message", is(SPEECH_ACCEPTED))
+                .body("data.status", is("QUEUED"))
+                .extract().response();
+        String ticketId = accepted.path("data.ticketId");
+        assertThat(accepted.header("Location"), endsWith("/api/speeches/ingestion/" + ticketId));
+
+        // the same content again is accepted, then rejected by the writer as a duplicate
+        String duplicateTicketId = given()
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/api/speeches?async=true")
+                .then()
+                .statusCode(202)
+                .extract().path("data.ticketId");
+
+        Response created = awaitTicket(ticketId);
+        assertThat(created.path("data.status"), is("CREATED"));
+        assertThat(awaitTicket(duplicateTicketId).path("data.status"), is("REJECTED"));
+
+        given()
+                .when()
+                .get("/api/speeches/" + created.path("data.speechId"))
+                .then()
+                .statusCode(200)
+                .body("data.content", is("Queued words travel in good company."));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownIngestionTicket() {
+        given()
+                .when()
+                .get("/api/speeches/ingestion/unknown")
+                .then().log().all()
+                .statusCode(404);
+    }
+
+    private Response awaitTicket(String ticketId) throws InterruptedException {
+        Response ticket = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            ticket = given().when().get("/api/speeches/ingestion/" + ticketId);
+            ticket.then().statusCode(200).body("message", is(TICKET_RETRIEVED));
+            if (!"QUEUED".equals(ticket.path("data.status"))) {
+                return ticket;
+            }
+            Thread.sleep(100);
+        }
+        return ticket;
+    }
+
+    @Test
+    void shouldNotServeCachedSpeechAfterUpdate() {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "content": "Cached speech before the update",
+                                "author": "Cache Author",
+                                "keywords": ["cache"],
+                                "speechDate": "2024-02-01T10:00:00Z"
+                            }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201)
+                .extract().path("data.id");
+
+        given()
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("data.content", is("Cached speech before the update"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "id": %d,
+                                "content": "Cached speech after the update",
+                                "author": "Cache Author",
+                                "keywords": ["cache"],
+                                "speechDate": "2024-02-01T10:00:00Z"
+                            }
+                        """.formatted(id))
+                .when()
+                .put("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("data.content", is("Cached speech after the update"));
+    }
+
+    @Test
+    void shouldAnswerConditionalGetOfSpeechWithNotModifiedUntilItChanges() {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "content": "Conditional speech before the update",
+                                "author": "Etag Author",
+                                "keywords": ["etag"],
+                                "speechDate": "2024-03-01T10:00:00Z"
+                            }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201)
+                .extract().path("data.id");
+
+        Response first = given()
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200)
+                .header("ETag", startsWith("W/\"" + id + "-"))
+                .header("Last-Modified", is(notNullValue()))
+                .extract().response();
+        String etag = first.getHeader("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(304)
+                .header("ETag", is(etag))
+                .header("Vary", "Accept, Accept-Encoding")
+                .body(is(emptyString()));
+
+        given()
+                .header("If-Modified-Since", first.getHeader("Last-Modified"))
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(304);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "id": %d,
+                                "content": "Conditional speech after the update",
+                                "author": "Etag Author",
+                                "keywords": ["etag"],
+                                "speechDate": "2024-03-01T10:00:00Z"
+                            }
+                        """.formatted(id))
+                .when()
+                .put("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200);
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200)
+                .header("ETag", not(etag))
+                .body("data.content", is("Conditional speech after the update"));
+    }
+
+    @Test
+    void shouldNegotiateCborWithEpochTimestamps() throws IOException {
+        byte[] body = given()
+                .accept("application/cbor")
+                .when()
+                .get("/api/speeches/{id}", 1)
+                .then()
+                .statusCode(200)
+                .contentType("application/cbor")
+                .header("Vary", allOf(containsString("Accept"), containsString("Accept-Encoding")))
+                .extract().asByteArray();
+
+        JsonNode speech = new CBORMapper().readTree(body).get("data");
+        assertThat(speech.get("author").asText(), is("John Doe"));
+        assertThat(speech.get("speechDate").isIntegralNumber(), is(true));
+        assertThat(speech.get("speechDate").asLong(), is(Instant.parse("2023-01-01T10:00:00Z").toEpochMilli()));
+    }
+
+    @Test
+    void shouldNegotiateSmileForSearchResults() throws IOException {
+        byte[] body = given()
+                .accept("application/x-jackson-smile")
+                .queryParam("author", "John")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-jackson-smile")
+                .extract().asByteArray();
+
+        JsonNode response = new SmileMapper().readTree(body);
+        assertThat(response.get("message").asText(), is(SPEECHES_RETRIEVED));
+        assertThat(response.get("data").size(), is(2));
+    }
+
+    @Test
+    void shouldGzipJsonAboveTheSizeThresholdOnly() {
+        // left encoded so the Content-Encoding header is the one the server sent
+        RestAssuredConfig encoded = RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+        given()
+                .config(encoded)
+                .header("Accept-Encoding", "gzip")
+                .queryParam("limit", 50)
+                .when()
+                .get("/api/speeches")
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                // Tomcat's compression rewrites the header, without listing accept-encoding twice
+                .header("Vary", equalToIgnoringCase("accept,accept-encoding"));
+
+        given()
+                .config(encoded)
+                .header("Accept-Encoding", "gzip")
+                .when()
+                .get("/api/speeches/{id}", 1)
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue());
+    }
+
+    @Test
+    void shouldNotQueryValidatorsForPlainGets() {
+        double before = versionQueries();
+
+        given()
+                .when()
+                .get("/api/speeches?limit=5")
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue());
+        given()
+                .queryParam("author", "Jane")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue());
+
+        assertThat(versionQueries(), is(before));
+    }
+
+    @Test
+    void shouldRevalidateListAndSearchAgainstTheMatchingSpeeches() {
+        String listEtag = given()
+                .when()
+                .get("/api/speeches?limit=500")
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", listEtag)
+                .when()
+                .get("/api/speeches?limit=500")
+                .then()
+                .statusCode(304);
+
+        String searchEtag = given()
+                .queryParam("author", "Jane")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        given()
+                .queryParam("author", "Jane")
+                .header("If-None-Match", searchEtag)
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(304);
+
+        // a speech outside the search leaves its page alone but not the list's, which holds every speech here
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "content": "Validators follow the matching rows",
+                                "author": "Validator Author",
+                                "keywords": ["etag"],
+                                "speechDate": "2024-03-02T10:00:00Z"
+                            }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201);
+
+        given()
+                .queryParam("author", "Jane")
+                .header("If-None-Match", searchEtag)
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(304);
+
+        given()
+                .header("If-None-Match", listEtag)
+                .when()
+                .get("/api/speeches?limit=500")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(listEtag));
+    }
+
+    @Test
+    void shouldCreateYearPartitionsOnWriteAndDetachThemAway() {
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                            {
+                                "content": "A speech from a year without partitions yet",
+                                "author": "Partition Author",
+                                "keywords": ["partitioned"],
+                                "speechDate": "1961-01-20T17:00:00Z"
+                            }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201)
+                .extract().path("data.id");
+
+        given()
+                .when()
+                .get("/actuator/speechpartitions")
+                .then()
+                .statusCode(200)
+                .body("years", hasItem(1961));
+        given()
+                .queryParam("startDate", "1961-01-01T00:00:00Z")
+                .queryParam("endDate", "1961-12-31T00:00:00Z")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(200)
+                .body("data.id", contains(id));
+
+        given()
+                .when()
+                .delete("/actuator/speechpartitions/1961")
+                .then()
+                .statusCode(200)
+                .body("detached", is(1961));
+
+        given()
+                .when()
+                .get("/actuator/speechpartitions")
+                .then()
+                .statusCode(200)
+                .body("years", not(hasItem(1961)));
+        given()
+                .when()
+                .get("/api/speeches/" + id)
+                .then()
+                .statusCode(404);
+        given()
+                .when()
+                .get("/api/speeches/stats/authors?limit=500")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.author == 'Partition Author' }", is(nullValue()));
+        given()
+                .when()
+                .get("/api/speeches/authors?prefix=Partition")
+                .then()
+                .statusCode(200)
+                .body("data.author", not(hasItem("Partition Author")));
+        given()
+                .when()
+                .delete("/actuator/speechpartitions/1961")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void shouldExposeRequestServiceAndQueryMetricsForPrometheus() {
+        given()
+                .queryParam("author", "Jane")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(200);
+
+        given()
+                .when()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(200)
+                .body(containsString("http_server_requests_seconds_bucket"))
+                .body(containsString("speech_service_seconds_count{class=\"tech.challenge.speech.service.SpeechService\""))
+                .body(containsString("filters=\"author\",query=\"search\""))
+                .body(containsString("speech_request_entities_loaded_count{method=\"GET\",uri=\"/api/speeches/search\"}"))
+                .body(containsString("hikaricp_connections_acquire_seconds_bucket"))
+                .body(containsString("hibernate_entities_loads_total"));
+    }
+
+    // how many validator queries ran so far, summed over every filter combination
+    private static double versionQueries() {
+        String metrics = given()
+                .when()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+        return metrics.lines()
+                .filter(line -> line.startsWith("speech_query_seconds_count{") && line.contains("query=\"version\""))
+                .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .sum();
+    }
+}
@@ -0,0 +1,184 @@
+package tech.challenge.speech.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.dto.PatchSpeechDTO;
+import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechSpecification;
+import tech.challenge.speech.service.SpeechPartitions;
+import tech.challenge.speech.service.SpeechService;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Testcontainers
+@SpringBootTest
+class SpeechQueryCountIntegrationTest {
+
+    private static final String AUTHOR = "Query Count Author";
+    private static final int SPEECH_COUNT = 40;
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer;
+
+    static {
+        postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+                .withDatabaseName("app_db")
+                .withUsername("app_user")
+                .withPassword("Beyond80.Bucks");
+    }
+
+    @Autowired
+    private SpeechService speechService;
+
+    @Autowired
+    private SpeechRepository speechRepository;
+
+    @Autowired
+    private SpeechPartitions speechPartitions;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Statistics statistics;
+    private List<Long> seededIds;
+    private List<Speech> seeded;
+
+    @BeforeAll
+    static void startContainer() {
+        postgresContainer.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgresContainer.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Speech> speeches = IntStream.range(0, SPEECH_COUNT)
+                .mapToObj(this::speech)
+                .toList();
+        seededIds = new ArrayList<>();
+
+        // saved past the service, so the partitions are created and the keyword index is told as the service would
+        speechPartitions.ensureFor(speeches.stream().map(Speech::getSpeechDate).toList());
+        speechRepository.saveAll(speeches).forEach(speech -> {
+            seededIds.add(speech.getId());
+            eventPublisher.publishEvent(SpeechChangedEvent.created(speech));
+        });
+        seeded = speeches;
+    }
+
+    @AfterEach
+    void cleanup() {
+        speechRepository.deleteAllById(seededIds);
+        seeded.forEach(speech -> eventPublisher.publishEvent(SpeechChangedEvent.deleted(speech)));
+    }
+
+    @Test
+    void shouldLoadSpeechesAndKeywordsInConstantStatementsForAnyPageSize() {
+        long smallPage = countStatements(() -> speechService.getAllSpeeches(null, 2, null, null));
+        long largePage = countStatements(() -> speechService.getAllSpeeches(null, SPEECH_COUNT, null, null));
+
+        assertEquals(1, smallPage); // one grouped query, keywords aggregated with array_agg
+        assertEquals(smallPage, largePage);
+        assertEquals(0, statistics.getEntityLoadCount()); // projections, no managed entities
+    }
+
+    @Test
+    void shouldSearchSpeechesAndKeywordsInConstantStatementsForAnyPageSize() {
+        long smallPage = countStatements(() -> speechService.searchSpeeches(
+                AUTHOR, null, null, null, Set.of("batch"), KeywordMatch.ANY, null, 2, null, null, null, null));
+        long largePage = countStatements(() -> speechService.searchSpeeches(
+                AUTHOR, null, null, null, Set.of("batch"), KeywordMatch.ANY, null, SPEECH_COUNT, null, null, null, null));
+
+        assertEquals(1, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void shouldCountTheKeywordsOfMatchingSpeechesInSingleStatement() {
+        List<FacetCountDTO> counts = new ArrayList<>();
+        long statements = countStatements(() -> counts.addAll(speechRepository.countKeywords(
+                SpeechSpecification.filterSpeeches(AUTHOR, null, null, null, Set.of("fetch")), 2)));
+
+        assertEquals(1, statements);
+        assertEquals(List.of(new FacetCountDTO("batch", SPEECH_COUNT), new FacetCountDTO("fetch", SPEECH_COUNT)), counts);
+    }
+
+    @Test
+    void shouldLoadSpeechWithKeywordsInSingleStatement() {
+        long statements = countStatements(() -> speechService.getSpeechById(seededIds.get(0)));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void shouldPatchKeywordsAsRowDeltasWithoutRecreatingTheCollection() {
+        PatchSpeechDTO patch = new PatchSpeechDTO();
+        patch.setVersion(seeded.get(0).getVersion());
+        patch.setAddKeywords(Set.of("delta"));
+        patch.setRemoveKeywords(Set.of("fetch"));
+
+        statistics.clear();
+        SpeechDTO patched = speechService.patchSpeech(seededIds.get(0), patch);
+
+        assertEquals(Set.of("batch", "delta", "keyword0"), patched.getKeywords());
+        assertEquals(seeded.get(0).getVersion() + 1, patched.getVersion());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(1, statistics.getCollectionUpdateCount());
+        assertEquals(0, statistics.getOptimisticFailureCount());
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Speech speech(int index) {
+        Speech speech = new Speech();
+        speech.setContent("Statement count speech number " + index);
+        speech.setAuthor(AUTHOR);
+        speech.setSpeechDate(OffsetDateTime.parse("2030-01-01T00:00:00Z").plusDays(index));
+        speech.setKeywords(Set.of("batch", "fetch", "keyword" + index));
+        return speech;
+    }
+}
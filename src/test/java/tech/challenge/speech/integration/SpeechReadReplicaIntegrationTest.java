@@ -0,0 +1,201 @@
+package tech.challenge.speech.integration;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.RestAssured.withArgs;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The replica is a second database migrated to the same schema rather than a streaming replica, so a row that
+// exists on only one side shows which of the two served a request.
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SpeechReadReplicaIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer;
+
+    @Container
+    static PostgreSQLContainer<?> replicaContainer;
+
+    static {
+        postgresContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+                .withDatabaseName("app_db")
+                .withUsername("app_user")
+                .withPassword("Beyond80.Bucks");
+        replicaContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+                .withDatabaseName("app_db")
+                .withUsername("app_user")
+                .withPassword("Beyond80.Bucks");
+    }
+
+    @BeforeAll
+    static void startContainers() throws SQLException {
+        postgresContainer.start();
+        replicaContainer.start();
+        Flyway.configure()
+                .dataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = replica(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO speech (content, author, speech_date, content_fingerprint) "
+                    + "VALUES ('Only the replica has this one', 'Replica Reader', '2024-05-01T10:00:00Z', 'replica-only')");
+        }
+    }
+
+    @AfterAll
+    static void afterAll() {
+        replicaContainer.stop();
+        postgresContainer.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("speech.read-replicas.enabled", () -> "true");
+        registry.add("speech.read-replicas.urls", replicaContainer::getJdbcUrl);
+        registry.add("speech.read-replicas.read-your-writes", () -> "1m");
+    }
+
+    @BeforeEach
+    void setup() {
+        RestAssured.port = port;
+    }
+
+    @Test
+    void shouldServeReadsFromTheReplica() {
+        given()
+                .queryParam("limit", 500)
+                .when()
+                .get("/api/speeches")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("data.content", hasItem("Only the replica has this one"));
+    }
+
+    // what the caches keep comes from a replica only once it replayed the latest change; this replica is no
+    // streaming standby, so the fence cannot place it and the caches fill from the primary
+    @Test
+    void shouldFillTheCachesFromThePrimaryWhenTheReplicaCannotShowItCaughtUp() throws SQLException {
+        long id;
+        try (Connection connection = primary(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO speech (content, author, speech_date, content_fingerprint) "
+                    + "VALUES ('Only the primary has this one', 'Primary Only', '2024-05-02T10:00:00Z', 'primary-only')",
+                    new String[]{"id"});
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                assertTrue(keys.next());
+                id = keys.getLong(1);
+            }
+        }
+
+        given()
+                .queryParam("author", "Replica")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(404);
+
+        given()
+                .queryParam("author", "Primary Only")
+                .when()
+                .get("/api/speeches/search")
+                .then()
+                .statusCode(200)
+                .body("data[0].content", is("Only the primary has this one"));
+
+        given()
+                .when()
+                .get("/api/speeches/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("data.author", is("Primary Only"));
+    }
+
+    @Test
+    void shouldWriteToThePrimaryAndReadItBackWithinTheReadYourWritesWindow() throws SQLException {
+        Response created = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                        {
+                            "content": "Written to the primary only",
+                            "author": "Primary Writer",
+                            "speechDate": "2024-06-01T10:00:00Z",
+                            "keywords": ["routing"]
+                        }
+                        """)
+                .when()
+                .post("/api/speeches")
+                .then()
+                .statusCode(201)
+                .cookie("speech-primary-until", notNullValue())
+                .extract().response();
+        long id = created.jsonPath().getLong("data.id");
+        String primaryUntil = created.getCookie("speech-primary-until");
+
+        try (Connection connection = primary();
+             PreparedStatement statement = connection.prepareStatement("SELECT author FROM speech WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getString(1), is("Primary Writer"));
+            }
+        }
+
+        // without the cookie the read goes to the replica, which never saw the insert
+        given()
+                .queryParam("limit", 500)
+                .when()
+                .get("/api/speeches")
+                .then()
+                .statusCode(200)
+                .body("data.id", not(hasItem((int) id)));
+
+        given()
+                .cookie("speech-primary-until", primaryUntil)
+                .queryParam("limit", 500)
+                .when()
+                .get("/api/speeches")
+                .then()
+                .statusCode(200)
+                .body("data.find { it.id == %d }.author", withArgs(id), is("Primary Writer"));
+    }
+
+    private static Connection primary() throws SQLException {
+        return DriverManager.getConnection(
+                postgresContainer.getJdbcUrl(), postgresContainer.getUsername(), postgresContainer.getPassword());
+    }
+
+    private static Connection replica() throws SQLException {
+        return DriverManager.getConnection(
+                replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword());
+    }
+}
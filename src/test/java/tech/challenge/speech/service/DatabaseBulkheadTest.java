@@ -0,0 +1,142 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.exception.ServiceBusyException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class DatabaseBulkheadTest {
+
+    private DatabaseBulkhead bulkhead;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        SpeechProperties speechProperties = new SpeechProperties();
+        speechProperties.getBulkhead().setMaxConcurrentCalls(1);
+        speechProperties.getBulkhead().setMaxWait(Duration.ofMillis(50));
+        bulkhead = new DatabaseBulkhead(speechProperties, mock(DataSource.class), new SimpleMeterRegistry());
+        InMemoryTransactionManager transactionManager = new InMemoryTransactionManager();
+        transactionManager.addListener(bulkhead);
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void shouldRejectTransactionsBeyondThePermitsOnceMaxWaitElapses() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            entered.countDown();
+            awaitQuietly(release);
+            return "done";
+        }));
+        entered.await(1, TimeUnit.SECONDS);
+
+        assertThrows(ServiceBusyException.class, () -> transaction.execute(status -> "rejected"));
+
+        release.countDown();
+        assertEquals("done", holder.get(1, TimeUnit.SECONDS));
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void shouldLetScopesWithoutATransactionPassWhileThePermitsAreTaken() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            entered.countDown();
+            awaitQuietly(release);
+            return "done";
+        }));
+        entered.await(1, TimeUnit.SECONDS);
+
+        TransactionTemplate supports = new TransactionTemplate(transaction.getTransactionManager());
+        supports.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        assertEquals("cached", supports.execute(status -> "cached"));
+
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldNotTakeASecondPermitForTransactionsOpenedInsideOne() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transaction.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        String result = transaction.execute(status -> transaction.execute(joined ->
+                requiresNew.execute(inner -> "inner")));
+
+        assertEquals("inner", result);
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void shouldReleaseThePermitWhenTheTransactionRollsBack() {
+        assertThrows(IllegalStateException.class, () -> transaction.execute(status -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, bulkhead.availablePermits());
+        assertEquals("next", transaction.execute(status -> "next"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // begins, commits and rolls back nothing, but lets the listeners see every transaction the way they would
+    private static final class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return (Boolean) transaction;
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return transaction;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
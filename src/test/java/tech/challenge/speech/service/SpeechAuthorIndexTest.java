@@ -0,0 +1,107 @@
+package tech.challenge.speech.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.exception.BadRequestException;
+import tech.challenge.speech.model.dto.AuthorDTO;
+import tech.challenge.speech.model.entity.Speech;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpeechAuthorIndexTest {
+
+    private SpeechAuthorIndex authorIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet authors = mock(ResultSet.class);
+        when(authors.getString(1)).thenReturn("John Doe", "Jane Smith", "johnny Cash", "Emily Brown");
+        when(authors.getLong(2)).thenReturn(2L, 1L, 3L, 1L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int row = 0; row < 4; row++) {
+                handler.processRow(authors);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        authorIndex = new SpeechAuthorIndex(jdbcTemplate);
+        authorIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldSuggestAuthorsByCaseInsensitivePrefixMostSpeechesFirst() {
+        assertEquals(List.of(new AuthorDTO("johnny Cash", 3), new AuthorDTO("John Doe", 2)),
+                authorIndex.suggest("JOHN", null));
+        assertEquals(List.of(new AuthorDTO("Jane Smith", 1)), authorIndex.suggest("ja", null));
+        assertEquals(List.of(), authorIndex.suggest("x", null));
+    }
+
+    @Test
+    void shouldReturnTheTopAuthorsWithinTheLimit() {
+        assertEquals(List.of(new AuthorDTO("johnny Cash", 3), new AuthorDTO("John Doe", 2), new AuthorDTO("Emily Brown", 1)),
+                authorIndex.suggest(null, 3));
+        assertThrows(BadRequestException.class, () -> authorIndex.suggest("j", 0));
+    }
+
+    @Test
+    void shouldFollowCommittedWrites() {
+        authorIndex.onSpeechChanged(SpeechChangedEvent.created(speech(10L, "Jane Smith")));
+        authorIndex.onSpeechChanged(SpeechChangedEvent.updated(
+                SpeechChangedEvent.Snapshot.of(speech(11L, "Emily Brown")), speech(11L, "Jane Smith")));
+        authorIndex.onSpeechChanged(SpeechChangedEvent.deleted(speech(12L, "John Doe")));
+
+        assertEquals(List.of(new AuthorDTO("Jane Smith", 3)), authorIndex.suggest("jane", null));
+        assertEquals(List.of(), authorIndex.suggest("emily", null));
+        assertEquals(List.of(new AuthorDTO("johnny Cash", 3), new AuthorDTO("John Doe", 1)),
+                authorIndex.suggest("john", null));
+    }
+
+    @Test
+    void shouldKeepServingAndCountingWritesWhileItRebuilds() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet authors = mock(ResultSet.class);
+        when(authors.getString(1)).thenReturn("Jane Smith");
+        when(authors.getLong(2)).thenReturn(1L, 5L);
+        SpeechAuthorIndex rebuilding = new SpeechAuthorIndex(jdbcTemplate);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(authors);
+            return null;
+        }).doAnswer(invocation -> {
+            // a write commits and a suggestion comes in while the authors load
+            rebuilding.onSpeechChanged(SpeechChangedEvent.created(speech(20L, "Jane Smith")));
+            assertEquals(List.of(new AuthorDTO("Jane Smith", 2)), rebuilding.suggest("jane", null));
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(authors);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        rebuilding.afterSingletonsInstantiated();
+
+        rebuilding.rebuild();
+
+        assertEquals(List.of(new AuthorDTO("Jane Smith", 6)), rebuilding.suggest("jane", null));
+    }
+
+    private static Speech speech(Long id, String author) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        speech.setAuthor(author);
+        speech.setKeywords(Set.of());
+        return speech;
+    }
+}
@@ -0,0 +1,173 @@
+package tech.challenge.speech.service;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.challenge.speech.common.SpeechFingerprint;
+import tech.challenge.speech.model.dto.BatchItemResultDTO;
+import tech.challenge.speech.model.dto.BatchOperationDTO;
+import tech.challenge.speech.model.dto.BatchOperationType;
+import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechFingerprintView;
+import tech.challenge.speech.repository.SpeechRepository;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SpeechBatchServiceTest {
+
+    private SpeechRepository speechRepository;
+    private SpeechBatchService speechBatchService;
+
+    @BeforeEach
+    void setUp() {
+        speechRepository = mock(SpeechRepository.class);
+        speechBatchService = new SpeechBatchService(
+                speechRepository, Validation.buildDefaultValidatorFactory().getValidator(), mock(ApplicationEventPublisher.class),
+                mock(SpeechPartitions.class), mock(PlatformTransactionManager.class));
+
+        AtomicLong sequence = new AtomicLong(100);
+        when(speechRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Speech> speeches = invocation.getArgument(0);
+            speeches.forEach(speech -> speech.setId(sequence.getAndIncrement()));
+            return speeches;
+        });
+    }
+
+    @Test
+    void shouldApplyCreateUpdateAndDeleteInOneBatch() {
+        Speech existing = speechWithId(1L);
+        Speech deleted = speechWithId(2L);
+        when(speechRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(existing, deleted));
+
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(List.of(
+                operation(BatchOperationType.CREATE, null, speech("New speech")),
+                operation(BatchOperationType.UPDATE, 1L, speech("Updated speech")),
+                operation(BatchOperationType.DELETE, 2L, null)));
+
+        assertEquals(List.of(201, 200, 200), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals("Updated speech", existing.getContent());
+        verify(speechRepository).findByContentFingerprintIn(anyCollection());
+        verify(speechRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(speechRepository).saveAll(argThat(speeches -> ((List<Speech>) speeches).size() == 1));
+    }
+
+    @Test
+    void shouldRejectInvalidOperationsWithoutRejectingTheBatch() {
+        SpeechDTO missingContent = speech(null);
+
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(List.of(
+                operation(BatchOperationType.CREATE, null, missingContent),
+                operation(BatchOperationType.UPDATE, null, speech("No id")),
+                operation(BatchOperationType.CREATE, null, speech("Valid speech"))));
+
+        assertEquals(List.of(400, 400, 201), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        assertEquals(List.of("speech.content: Content cannot be empty"), results.get(0).getErrors());
+    }
+
+    @Test
+    void shouldRejectMissingTargets() {
+        when(speechRepository.findAllById(Set.of(9999L))).thenReturn(Collections.emptyList());
+
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(List.of(
+                operation(BatchOperationType.DELETE, 9999L, null)));
+
+        assertEquals(404, results.get(0).getStatus());
+        verify(speechRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void shouldRejectDuplicatesWithinTheBatchAndAgainstStoredSpeeches() {
+        SpeechDTO stored = speech("Stored speech");
+        when(speechRepository.findByContentFingerprintIn(anyCollection())).thenReturn(List.of(
+                new SpeechFingerprintView(7L, fingerprintOf(stored))));
+
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(List.of(
+                operation(BatchOperationType.CREATE, null, speech("Fresh speech")),
+                operation(BatchOperationType.CREATE, null, speech("FRESH speech")),
+                operation(BatchOperationType.CREATE, null, stored)));
+
+        assertEquals(List.of(201, 409, 409), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        verify(speechRepository, times(1)).findByContentFingerprintIn(anyCollection());
+    }
+
+    @Test
+    void shouldLetLaterOperationsClaimFingerprintsFreedEarlierInTheBatch() {
+        SpeechDTO updatedAway = speech("Updated away");
+        SpeechDTO deletedAway = speech("Deleted away");
+        Speech updated = speechWithId(1L);
+        Speech deleted = speechWithId(2L);
+        when(speechRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(updated, deleted));
+        when(speechRepository.findByContentFingerprintIn(anyCollection())).thenReturn(List.of(
+                new SpeechFingerprintView(1L, fingerprintOf(updatedAway)),
+                new SpeechFingerprintView(2L, fingerprintOf(deletedAway))));
+        ReflectionTestUtils.setField(updated, "contentFingerprint", fingerprintOf(updatedAway));
+        ReflectionTestUtils.setField(deleted, "contentFingerprint", fingerprintOf(deletedAway));
+
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(List.of(
+                operation(BatchOperationType.UPDATE, 1L, speech("Updated speech")),
+                operation(BatchOperationType.CREATE, null, updatedAway),
+                operation(BatchOperationType.DELETE, 2L, null),
+                operation(BatchOperationType.CREATE, null, deletedAway)));
+
+        assertEquals(List.of(200, 201, 200, 201), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        // the update and the delete reach the database before the inserts that reuse their fingerprints
+        InOrder order = inOrder(speechRepository);
+        order.verify(speechRepository).flush();
+        order.verify(speechRepository).deleteAllByIdInBatch(List.of(2L));
+        order.verify(speechRepository).flush();
+        order.verify(speechRepository).saveAll(argThat(speeches -> ((List<Speech>) speeches).size() == 2));
+    }
+
+    @Test
+    void shouldRejectOperationsRepeatingATarget() {
+        when(speechRepository.findAllById(Set.of(1L))).thenReturn(List.of(speechWithId(1L)));
+
+        List<BatchItemResultDTO> results = speechBatchService.applyBatch(List.of(
+                operation(BatchOperationType.UPDATE, 1L, speech("Updated speech")),
+                operation(BatchOperationType.DELETE, 1L, null)));
+
+        assertEquals(List.of(200, 409), results.stream().map(BatchItemResultDTO::getStatus).toList());
+        verify(speechRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private static String fingerprintOf(SpeechDTO speech) {
+        return SpeechFingerprint.of(speech.getAuthor(), speech.getContent(), speech.getSpeechDate(), speech.getKeywords());
+    }
+
+    private static BatchOperationDTO operation(BatchOperationType type, Long id, SpeechDTO speech) {
+        BatchOperationDTO operation = new BatchOperationDTO();
+        operation.setType(type);
+        operation.setId(id);
+        operation.setSpeech(speech);
+        return operation;
+    }
+
+    private static SpeechDTO speech(String content) {
+        SpeechDTO speech = new SpeechDTO();
+        speech.setContent(content);
+        speech.setAuthor("Batch Author");
+        speech.setKeywords(Set.of("batch"));
+        speech.setSpeechDate(OffsetDateTime.parse("2023-06-01T10:00:00Z"));
+        return speech;
+    }
+
+    private static Speech speechWithId(Long id) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        return speech;
+    }
+}
@@ -0,0 +1,99 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.exception.BadRequestException;
+import tech.challenge.speech.model.dto.BulkDeleteResultDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechView;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class SpeechBulkDeleteServiceTest {
+
+    private SpeechRepository speechRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private SpeechBulkDeleteService speechBulkDeleteService;
+
+    @BeforeEach
+    void setUp() {
+        speechRepository = mock(SpeechRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        SpeechProperties speechProperties = new SpeechProperties();
+        speechProperties.getBulkDelete().setChunkSize(2);
+        speechBulkDeleteService = new SpeechBulkDeleteService(speechRepository, mock(PlatformTransactionManager.class),
+                eventPublisher, speechProperties, new SpeechQueryMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void shouldDeleteInChunksUntilAChunkComesBackShort() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any()))
+                .thenReturn(List.of(view(1L), view(2L)))
+                .thenReturn(List.of(view(3L)));
+        when(speechRepository.deleteAllByIdReturningIds(anyList()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        BulkDeleteResultDTO result = speechBulkDeleteService.deleteSpeeches(
+                "Author", null, null, null, null, KeywordMatch.ANY, false);
+
+        assertEquals(new BulkDeleteResultDTO(3, false), result);
+        verify(speechRepository).deleteAllByIdReturningIds(List.of(1L, 2L));
+        verify(speechRepository).deleteAllByIdReturningIds(List.of(3L));
+        verify(eventPublisher, times(3)).publishEvent(any(SpeechChangedEvent.class));
+    }
+
+    @Test
+    void shouldAnnounceOnlySpeechesTheDeleteReturned() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(view(1L)));
+        // deleted by someone else between the select and the delete
+        when(speechRepository.deleteAllByIdReturningIds(anyList())).thenReturn(List.of());
+
+        BulkDeleteResultDTO result = speechBulkDeleteService.deleteSpeeches(
+                "Author", null, null, null, null, KeywordMatch.ANY, false);
+
+        assertEquals(0, result.getCount());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldOnlyCountOnDryRun() {
+        when(speechRepository.count(any(Specification.class))).thenReturn(42L);
+
+        BulkDeleteResultDTO result = speechBulkDeleteService.deleteSpeeches(
+                null, null, null, null, Set.of("peace"), KeywordMatch.ANY, true);
+
+        assertEquals(new BulkDeleteResultDTO(42, true), result);
+        verify(speechRepository, never()).deleteAllByIdReturningIds(anyList());
+    }
+
+    @Test
+    void shouldRejectDeletesWithoutCriteriaOrWithHalfADateRange() {
+        assertThrows(BadRequestException.class, () -> speechBulkDeleteService.deleteSpeeches(
+                " ", null, null, null, Set.of(), KeywordMatch.ANY, false));
+        assertThrows(BadRequestException.class, () -> speechBulkDeleteService.deleteSpeeches(
+                null, null, OffsetDateTime.parse("2023-01-01T00:00:00Z"), null, null, KeywordMatch.ANY, false));
+        verifyNoInteractions(speechRepository);
+    }
+
+    private static SpeechView view(Long id) {
+        OffsetDateTime date = OffsetDateTime.parse("2023-01-01T10:00:00Z");
+        return new SpeechView(id, "content", null, "Author", Set.of("peace"), date, date, date, 0L);
+    }
+}
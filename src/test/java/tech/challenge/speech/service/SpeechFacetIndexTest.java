@@ -0,0 +1,148 @@
+package tech.challenge.speech.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.dto.SearchFacet;
+import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechSpecification;
+
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpeechFacetIndexTest {
+
+    private static final Specification<Speech> ANY_SPEECH = SpeechSpecification.filterSpeeches(null, null, null, null, Set.of());
+
+    private JdbcTemplate jdbcTemplate;
+    private SpeechRepository speechRepository;
+    private SpeechKeywordIndex keywordIndex;
+    private SpeechFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet speeches = mock(ResultSet.class);
+        when(speeches.getLong(1)).thenReturn(1L, 2L, 3L, 4L);
+        when(speeches.getString(2)).thenReturn("Alice", "Alice", "Bob", "Carol");
+        when(speeches.getInt(3)).thenReturn(2020, 2021, 2021, 2021);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int row = 0; row < 4; row++) {
+                handler.processRow(speeches);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        speechRepository = mock(SpeechRepository.class);
+        keywordIndex = mock(SpeechKeywordIndex.class);
+        facetIndex = new SpeechFacetIndex(jdbcTemplate, mock(PlatformTransactionManager.class), speechRepository,
+                keywordIndex, new SpeechProperties());
+        facetIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldCountTheTopValuesWithinTheMatchingSpeeches() {
+        Map<String, List<FacetCountDTO>> facets = facetIndex.count(EnumSet.of(SearchFacet.YEAR, SearchFacet.AUTHOR), ANY_SPEECH,
+                Roaring64Bitmap.bitmapOf(1L, 2L, 3L), 1);
+
+        assertEquals(List.of("author", "year"), List.copyOf(facets.keySet()));
+        assertEquals(List.of(new FacetCountDTO("Alice", 2)), facets.get("author"));
+        assertEquals(List.of(new FacetCountDTO("2021", 2)), facets.get("year"));
+    }
+
+    @Test
+    void shouldCountWholePostingsWhenEverySpeechMatches() {
+        Map<String, List<FacetCountDTO>> facets = facetIndex.count(EnumSet.of(SearchFacet.AUTHOR), ANY_SPEECH, null, 10);
+
+        assertEquals(List.of(new FacetCountDTO("Alice", 2), new FacetCountDTO("Bob", 1), new FacetCountDTO("Carol", 1)),
+                facets.get("author"));
+    }
+
+    @Test
+    void shouldTakeKeywordCountsFromTheKeywordIndex() {
+        Roaring64Bitmap within = Roaring64Bitmap.bitmapOf(1L);
+        when(keywordIndex.topKeywords(within, 5)).thenReturn(Optional.of(List.of(new FacetCountDTO("peace", 1))));
+
+        Map<String, List<FacetCountDTO>> facets = facetIndex.count(EnumSet.of(SearchFacet.KEYWORDS), ANY_SPEECH, within, 5);
+
+        assertEquals(List.of(new FacetCountDTO("peace", 1)), facets.get("keywords"));
+    }
+
+    @Test
+    void shouldCountKeywordsWithTheSearchFilterWhenTheKeywordIndexCannot() {
+        Roaring64Bitmap within = Roaring64Bitmap.bitmapOf(1L, 3L);
+        Specification<Speech> filter = SpeechSpecification.filterSpeeches("Bob", null, null, null, Set.of());
+        when(keywordIndex.topKeywords(within, 5)).thenReturn(Optional.empty());
+        when(speechRepository.countKeywords(filter, 5)).thenReturn(List.of(new FacetCountDTO("trade", 2)));
+
+        Map<String, List<FacetCountDTO>> facets = facetIndex.count(EnumSet.of(SearchFacet.KEYWORDS), filter, within, 5);
+
+        assertEquals(List.of(new FacetCountDTO("trade", 2)), facets.get("keywords"));
+    }
+
+    @Test
+    void shouldKeepCountingAndFollowWritesWhileItRebuilds() throws Exception {
+        ResultSet speeches = mock(ResultSet.class);
+        when(speeches.getLong(1)).thenReturn(1L);
+        when(speeches.getString(2)).thenReturn("Alice");
+        when(speeches.getInt(3)).thenReturn(2020);
+        doAnswer(invocation -> {
+            // a write commits and a search counts while the speeches load
+            facetIndex.onSpeechChanged(SpeechChangedEvent.created(speech(5L, "Dave", "2022-03-01T00:00:00Z")));
+            assertEquals(List.of(new FacetCountDTO("2021", 3), new FacetCountDTO("2020", 1), new FacetCountDTO("2022", 1)),
+                    facetIndex.count(EnumSet.of(SearchFacet.YEAR), ANY_SPEECH, null, 10).get("year"));
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(speeches);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        facetIndex.rebuild();
+
+        Map<String, List<FacetCountDTO>> facets = facetIndex.count(EnumSet.of(SearchFacet.AUTHOR), ANY_SPEECH, null, 10);
+        assertEquals(List.of(new FacetCountDTO("Alice", 1), new FacetCountDTO("Dave", 1)), facets.get("author"));
+    }
+
+    @Test
+    void shouldFollowCommittedWrites() {
+        facetIndex.onSpeechChanged(SpeechChangedEvent.updated(
+                new SpeechChangedEvent.Snapshot("Bob", Set.of(), OffsetDateTime.parse("2021-06-01T00:00:00Z")),
+                speech(3L, "Alice", "2019-12-31T23:00:00-02:00")));
+        facetIndex.onSpeechChanged(SpeechChangedEvent.deleted(speech(4L, "Carol", "2021-06-01T00:00:00Z")));
+
+        Map<String, List<FacetCountDTO>> facets = facetIndex.count(EnumSet.of(SearchFacet.AUTHOR, SearchFacet.YEAR), ANY_SPEECH, null, 10);
+
+        assertEquals(List.of(new FacetCountDTO("Alice", 3)), facets.get("author"));
+        // years are taken in UTC
+        assertEquals(List.of(new FacetCountDTO("2020", 2), new FacetCountDTO("2021", 1)), facets.get("year"));
+    }
+
+    private static Speech speech(Long id, String author, String speechDate) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        speech.setAuthor(author);
+        speech.setSpeechDate(OffsetDateTime.parse(speechDate));
+        speech.setKeywords(Set.of());
+        return speech;
+    }
+}
@@ -0,0 +1,124 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.exception.IngestionQueueFullException;
+import tech.challenge.speech.exception.NotFoundException;
+import tech.challenge.speech.exception.ServiceBusyException;
+import tech.challenge.speech.model.dto.BatchItemResultDTO;
+import tech.challenge.speech.model.dto.BatchOperationType;
+import tech.challenge.speech.model.dto.IngestionStatus;
+import tech.challenge.speech.model.dto.IngestionTicketDTO;
+import tech.challenge.speech.model.dto.SpeechDTO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class SpeechIngestionQueueTest {
+
+    private SpeechBatchService speechBatchService;
+    private SpeechIngestionQueue speechIngestionQueue;
+
+    @BeforeEach
+    void setUp() {
+        SpeechProperties speechProperties = new SpeechProperties();
+        speechProperties.getIngestion().setQueueCapacity(3);
+        speechProperties.getIngestion().setMaxBatchSize(2);
+        speechBatchService = mock(SpeechBatchService.class);
+        speechIngestionQueue = new SpeechIngestionQueue(speechBatchService, speechProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldWriteQueuedSpeechesAsOneBatch() {
+        when(speechBatchService.applyBatch(anyList())).thenReturn(List.of(created(0, 10L), created(1, 11L)));
+
+        IngestionTicketDTO first = speechIngestionQueue.submit(speech("First"));
+        IngestionTicketDTO second = speechIngestionQueue.submit(speech("Second"));
+        assertEquals(IngestionStatus.QUEUED, speechIngestionQueue.getTicket(first.getTicketId()).getStatus());
+
+        assertEquals(2, speechIngestionQueue.writePending());
+
+        verify(speechBatchService).applyBatch(argThat(operations -> operations.size() == 2
+                && operations.stream().allMatch(operation -> operation.getType() == BatchOperationType.CREATE)));
+        IngestionTicketDTO written = speechIngestionQueue.getTicket(second.getTicketId());
+        assertEquals(IngestionStatus.CREATED, written.getStatus());
+        assertEquals(11L, written.getSpeechId());
+        assertNotNull(written.getCompletedDateTime());
+    }
+
+    @Test
+    void shouldRejectSpeechesWhenTheQueueIsFull() {
+        speechIngestionQueue.submit(speech("First"));
+        speechIngestionQueue.submit(speech("Second"));
+        speechIngestionQueue.submit(speech("Third"));
+
+        assertThrows(IngestionQueueFullException.class, () -> speechIngestionQueue.submit(speech("Fourth")));
+    }
+
+    @Test
+    void shouldReportDuplicatesAsRejected() {
+        when(speechBatchService.applyBatch(anyList())).thenReturn(List.of(
+                new BatchItemResultDTO(0, BatchOperationType.CREATE, null, 409, "Duplicate speech content", null)));
+
+        IngestionTicketDTO ticket = speechIngestionQueue.submit(speech("Duplicate"));
+        speechIngestionQueue.writePending();
+
+        IngestionTicketDTO rejected = speechIngestionQueue.getTicket(ticket.getTicketId());
+        assertEquals(IngestionStatus.REJECTED, rejected.getStatus());
+        assertNull(rejected.getSpeechId());
+        assertEquals("Duplicate speech content", rejected.getMessage());
+    }
+
+    @Test
+    void shouldRetryWhileTheBulkheadIsFull() {
+        when(speechBatchService.applyBatch(anyList()))
+                .thenThrow(new ServiceBusyException("busy"))
+                .thenReturn(List.of(created(0, 10L)));
+
+        IngestionTicketDTO ticket = speechIngestionQueue.submit(speech("First"));
+        speechIngestionQueue.writePending();
+
+        verify(speechBatchService, times(2)).applyBatch(anyList());
+        assertEquals(IngestionStatus.CREATED, speechIngestionQueue.getTicket(ticket.getTicketId()).getStatus());
+    }
+
+    @Test
+    void shouldWriteOneByOneWhenABatchFails() {
+        when(speechBatchService.applyBatch(argThat(operations -> operations != null && operations.size() > 1)))
+                .thenThrow(new IllegalStateException("unique constraint"));
+        when(speechBatchService.applyBatch(argThat(operations -> operations != null && operations.size() == 1
+                && "First".equals(operations.get(0).getSpeech().getContent()))))
+                .thenReturn(List.of(created(0, 10L)));
+        when(speechBatchService.applyBatch(argThat(operations -> operations != null && operations.size() == 1
+                && "Second".equals(operations.get(0).getSpeech().getContent()))))
+                .thenThrow(new IllegalStateException("unique constraint"));
+
+        IngestionTicketDTO first = speechIngestionQueue.submit(speech("First"));
+        IngestionTicketDTO second = speechIngestionQueue.submit(speech("Second"));
+        speechIngestionQueue.writePending();
+
+        assertEquals(IngestionStatus.CREATED, speechIngestionQueue.getTicket(first.getTicketId()).getStatus());
+        assertEquals(IngestionStatus.FAILED, speechIngestionQueue.getTicket(second.getTicketId()).getStatus());
+    }
+
+    @Test
+    void shouldThrowForUnknownTickets() {
+        assertThrows(NotFoundException.class, () -> speechIngestionQueue.getTicket("unknown"));
+    }
+
+    private static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, BatchOperationType.CREATE, id, 201, "Speech created successfully", null);
+    }
+
+    private static SpeechDTO speech(String content) {
+        SpeechDTO speech = new SpeechDTO();
+        speech.setContent(content);
+        speech.setAuthor("Author");
+        return speech;
+    }
+}
@@ -0,0 +1,118 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.entity.Speech;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpeechKeywordIndexTest {
+
+    private SpeechProperties speechProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private SpeechKeywordIndex keywordIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet postings = mock(ResultSet.class);
+        when(postings.getLong(1)).thenReturn(1L, 1L, 2L, 2L, 3L);
+        when(postings.getString(2)).thenReturn("peace", "economy", "peace", "Climate", "economy");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int row = 0; row < 5; row++) {
+                handler.processRow(postings);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        speechProperties = new SpeechProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        keywordIndex = new SpeechKeywordIndex(
+                jdbcTemplate, mock(PlatformTransactionManager.class), speechProperties, meterRegistry);
+        keywordIndex.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldUnionPostingsForAnyKeyword() {
+        assertArrayEquals(new long[]{1L, 2L, 3L}, match(KeywordMatch.ANY, "PEACE", "economy"));
+    }
+
+    @Test
+    void shouldIntersectPostingsForAllKeywords() {
+        assertArrayEquals(new long[]{1L}, match(KeywordMatch.ALL, "peace", "economy"));
+    }
+
+    @Test
+    void shouldMatchNothingWhenAnAllKeywordIsUnknown() {
+        assertArrayEquals(new long[0], match(KeywordMatch.ALL, "peace", "unknown"));
+        assertArrayEquals(new long[0], match(KeywordMatch.ANY, "unknown"));
+    }
+
+    @Test
+    void shouldLookUpKeywordsLowercasedLikeTheDatabaseFilter() {
+        // stored as "Climate", the isMember filter compares the lowercased value and misses it too
+        assertArrayEquals(new long[0], match(KeywordMatch.ANY, "climate"));
+    }
+
+    @Test
+    void shouldFallBackToTheDatabaseAboveMaxIdsPerQuery() {
+        speechProperties.getKeywordIndex().setMaxIdsPerQuery(2);
+
+        assertTrue(keywordIndex.match(List.of("peace", "economy"), KeywordMatch.ANY).isEmpty());
+        assertArrayEquals(new long[]{1L}, match(KeywordMatch.ALL, "peace", "economy"));
+        assertEquals(1.0, meterRegistry.get("speech.keyword.index.lookups").tag("outcome", "fallback").counter().count());
+    }
+
+    @Test
+    void shouldFollowCommittedWrites() {
+        keywordIndex.onSpeechChanged(SpeechChangedEvent.created(speech(4L, "peace", "trade")));
+        keywordIndex.onSpeechChanged(SpeechChangedEvent.updated(
+                new SpeechChangedEvent.Snapshot(null, Set.of("peace", "economy"), null), speech(1L, "trade")));
+        keywordIndex.onSpeechChanged(SpeechChangedEvent.deleted(speech(3L, "economy")));
+
+        assertArrayEquals(new long[]{2L, 4L}, match(KeywordMatch.ANY, "peace"));
+        assertArrayEquals(new long[]{1L, 4L}, match(KeywordMatch.ANY, "trade"));
+        assertArrayEquals(new long[0], match(KeywordMatch.ANY, "economy"));
+    }
+
+    @Test
+    void shouldNotAnswerWhenDisabled() {
+        speechProperties.getKeywordIndex().setEnabled(false);
+        SpeechKeywordIndex disabled = new SpeechKeywordIndex(mock(JdbcTemplate.class),
+                mock(PlatformTransactionManager.class), speechProperties, new SimpleMeterRegistry());
+        disabled.afterSingletonsInstantiated();
+
+        assertEquals(Optional.empty(), disabled.match(List.of("peace"), KeywordMatch.ANY));
+    }
+
+    private long[] match(KeywordMatch keywordMatch, String... keywords) {
+        return keywordIndex.match(List.of(keywords), keywordMatch).orElseThrow();
+    }
+
+    private static Speech speech(Long id, String... keywords) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        speech.setKeywords(Set.of(keywords));
+        return speech;
+    }
+}
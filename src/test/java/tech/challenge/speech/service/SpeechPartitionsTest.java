@@ -0,0 +1,83 @@
+package tech.challenge.speech.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechPartitionDetachedEvent;
+import tech.challenge.speech.exception.NotFoundException;
+
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SpeechPartitionsTest {
+
+    private static final String CREATE_YEAR = "SELECT speech_create_year_partition(?)";
+
+    private final int currentYear = Year.now(ZoneOffset.UTC).getValue();
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private SpeechPartitions partitions;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class))).thenReturn(List.of(2020, currentYear));
+        when(jdbcTemplate.queryForObject(eq(CREATE_YEAR), eq(Boolean.class), anyInt())).thenReturn(true);
+        partitions = new SpeechPartitions(jdbcTemplate, mock(PlatformTransactionManager.class), eventPublisher,
+                new SpeechProperties());
+        partitions.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void shouldCreateTheYearsAheadMissingAtStartup() {
+        verify(jdbcTemplate).queryForObject(CREATE_YEAR, Boolean.class, currentYear + 1);
+        verify(jdbcTemplate, never()).queryForObject(CREATE_YEAR, Boolean.class, currentYear);
+    }
+
+    @Test
+    void shouldCreateAYearOnlyOnceOnWrites() {
+        // 1999-12-31T23:00-02:00 is already 2000 in UTC
+        partitions.ensureFor(List.of(OffsetDateTime.parse("1999-12-31T23:00:00-02:00"),
+                OffsetDateTime.parse("2000-06-01T00:00:00Z")));
+        partitions.ensureFor(OffsetDateTime.parse("2020-06-01T00:00:00Z"));
+
+        verify(jdbcTemplate).queryForObject(CREATE_YEAR, Boolean.class, 2000);
+        verify(jdbcTemplate, never()).queryForObject(CREATE_YEAR, Boolean.class, 1999);
+        verify(jdbcTemplate, never()).queryForObject(CREATE_YEAR, Boolean.class, 2020);
+    }
+
+    @Test
+    void shouldDetachKeywordsBeforeSpeechesAndForgetTheirStats() {
+        partitions.detachYear(2020);
+
+        InOrder order = inOrder(jdbcTemplate, eventPublisher);
+        order.verify(jdbcTemplate).execute("ALTER TABLE speech_keyword DETACH PARTITION speech_keyword_y2020 CONCURRENTLY");
+        order.verify(jdbcTemplate).execute("ALTER TABLE speech DETACH PARTITION speech_y2020 CONCURRENTLY");
+        order.verify(jdbcTemplate).execute("ALTER TABLE speech_keyword_y2020 DROP CONSTRAINT fk_speech_keyword_speech");
+        order.verify(jdbcTemplate).execute(
+                "ALTER INDEX uq_speech_content_fingerprint_y2020 RENAME TO uq_speech_content_fingerprint_archive_y2020");
+        order.verify(jdbcTemplate).queryForObject(anyString(), eq(Object.class),
+                eq("speech_archive_y2020"), eq("speech_keyword_archive_y2020"));
+        order.verify(eventPublisher).publishEvent(new SpeechPartitionDetachedEvent(2020));
+    }
+
+    @Test
+    void shouldRejectDetachingAYearWithoutPartitions() {
+        assertThrows(NotFoundException.class, () -> partitions.detachYear(1990));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,118 @@
+package tech.challenge.speech.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.challenge.speech.config.ReadWriteRoutingDataSource;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.model.entity.Speech;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SpeechReplicaFenceTest {
+
+    private static final String PRIMARY_POSITION = "SELECT CAST(pg_current_wal_insert_lsn() - '0/0' AS BIGINT)";
+    private static final String REPLAYED_UP_TO = "SELECT coalesce(pg_last_wal_replay_lsn() - '0/0' >= ?, FALSE)";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private SimpleMeterRegistry meterRegistry;
+    private SpeechReplicaFence fence;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        readOnlyTransaction = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        meterRegistry = new SimpleMeterRegistry();
+        SpeechProperties speechProperties = new SpeechProperties();
+        speechProperties.getReadReplicas().setEnabled(true);
+        speechProperties.getReadReplicas().setUrls(List.of("jdbc:postgresql://replica/app_db"));
+        fence = new SpeechReplicaFence(jdbcTemplate, speechProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldReadFromAReplicaThatReplayedTheLatestChange() {
+        when(jdbcTemplate.queryForObject(PRIMARY_POSITION, Long.class)).thenReturn(4096L);
+        when(jdbcTemplate.queryForObject(REPLAYED_UP_TO, Boolean.class, 4096L)).thenReturn(true);
+        fence.onSpeechChanged(SpeechChangedEvent.deleted(speechWithId(1L)));
+
+        List<Boolean> pinned = new ArrayList<>();
+        String result = fence.read(readOnlyTransaction, () -> {
+            pinned.add(ReadWriteRoutingDataSource.isPinnedToPrimary());
+            return "speech";
+        });
+
+        assertEquals("speech", result);
+        assertEquals(List.of(false), pinned);
+        assertEquals(0, meterRegistry.get("speech.replica.behind").counter().count());
+    }
+
+    @Test
+    void shouldReadFromThePrimaryWhenTheReplicaIsBehind() {
+        when(jdbcTemplate.queryForObject(eq(REPLAYED_UP_TO), eq(Boolean.class), anyLong())).thenReturn(false);
+
+        List<Boolean> pinned = new ArrayList<>();
+        String result = fence.read(readOnlyTransaction, () -> {
+            pinned.add(ReadWriteRoutingDataSource.isPinnedToPrimary());
+            return "speech";
+        });
+
+        assertEquals("speech", result);
+        assertEquals(List.of(true), pinned);
+        assertEquals(1, meterRegistry.get("speech.replica.behind").counter().count());
+    }
+
+    @Test
+    void shouldRaiseTheFenceOncePerTransactionAfterItCommits() {
+        when(jdbcTemplate.queryForObject(PRIMARY_POSITION, Long.class)).thenReturn(8192L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        fence.onSpeechChanged(SpeechChangedEvent.deleted(speechWithId(1L)));
+        fence.onSpeechChanged(SpeechChangedEvent.deleted(speechWithId(2L)));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(0);
+        verify(jdbcTemplate, times(1)).queryForObject(PRIMARY_POSITION, Long.class);
+
+        when(jdbcTemplate.queryForObject(REPLAYED_UP_TO, Boolean.class, 8192L)).thenReturn(true);
+        assertEquals("speech", fence.read(readOnlyTransaction, () -> "speech"));
+        verify(jdbcTemplate).queryForObject(REPLAYED_UP_TO, Boolean.class, 8192L);
+    }
+
+    @Test
+    void shouldStayOutOfTheWayWithoutReplicas() {
+        fence = new SpeechReplicaFence(jdbcTemplate, new SpeechProperties(), meterRegistry);
+
+        fence.onSpeechChanged(SpeechChangedEvent.deleted(speechWithId(1L)));
+        assertEquals("speech", fence.read(readOnlyTransaction, () -> "speech"));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static Speech speechWithId(Long id) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        return speech;
+    }
+}
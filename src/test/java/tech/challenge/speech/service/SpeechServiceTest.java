@@ -1,59 +1,198 @@
 package tech.challenge.speech.service;
 
 import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.challenge.speech.common.SpeechCursor;
+import tech.challenge.speech.common.SpeechPageVersion;
+import tech.challenge.speech.config.SpeechProperties;
+import tech.challenge.speech.event.SpeechChangedEvent;
+import tech.challenge.speech.exception.BadRequestException;
 import tech.challenge.speech.exception.DuplicateSpeechException;
 import tech.challenge.speech.exception.NotFoundException;
+import tech.challenge.speech.model.dto.CursorPage;
+import tech.challenge.speech.model.dto.FacetCountDTO;
+import tech.challenge.speech.model.dto.FullTextHitDTO;
+import tech.challenge.speech.model.dto.KeywordMatch;
+import tech.challenge.speech.model.dto.PatchSpeechDTO;
+import tech.challenge.speech.model.dto.SearchFacet;
 import tech.challenge.speech.model.dto.SpeechDTO;
+import tech.challenge.speech.model.dto.SpeechRepresentation;
 import tech.challenge.speech.model.dto.UpdateSpeechDTO;
 import tech.challenge.speech.model.entity.Speech;
+import tech.challenge.speech.repository.ContentSelection;
+import tech.challenge.speech.repository.FullTextMatch;
 import tech.challenge.speech.repository.SpeechRepository;
+import tech.challenge.speech.repository.SpeechVersion;
+import tech.challenge.speech.repository.SpeechView;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static tech.challenge.speech.common.Constants.DEFAULT_FACET_LIMIT;
+import static tech.challenge.speech.common.Constants.DEFAULT_PAGE_LIMIT;
+import static tech.challenge.speech.common.Constants.MAX_EXCERPT_LENGTH;
 import static org.mockito.Mockito.*;
 
 public class SpeechServiceTest {
 
+    private static final OffsetDateTime SPEECH_DATE = OffsetDateTime.parse("2023-01-01T10:00:00Z");
+
     private SpeechRepository speechRepository;
+    private SpeechCache speechCache;
+    private SpeechSearchCache speechSearchCache;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private SpeechKeywordIndex keywordIndex;
+    private SpeechFacetIndex facetIndex;
+    private SpeechPartitions partitions;
+    private PlatformTransactionManager transactionManager;
     private SpeechService speechService;
 
     @BeforeEach
     void setUp() {
         speechRepository = mock(SpeechRepository.class);
-        speechService = new SpeechService(speechRepository);
+        speechCache = new SpeechCache(new SpeechProperties(), new SimpleMeterRegistry());
+        speechSearchCache = new SpeechSearchCache(new SpeechProperties(), new SimpleMeterRegistry());
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        keywordIndex = mock(SpeechKeywordIndex.class);
+        facetIndex = mock(SpeechFacetIndex.class);
+        partitions = mock(SpeechPartitions.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        speechService = new SpeechService(speechRepository, speechCache, speechSearchCache, eventPublisher,
+                transactionManager, new SpeechQueryMetrics(meterRegistry), keywordIndex, facetIndex, partitions,
+                new SpeechReplicaFence(mock(JdbcTemplate.class), new SpeechProperties(), new SimpleMeterRegistry()));
     }
 
     @Test
-    void shouldCallFindAllOnGetAllSpeeches() {
-        speechService.getAllSpeeches();
+    void shouldQueryOnePageOnGetAllSpeeches() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(Collections.emptyList());
+
+        CursorPage<SpeechDTO> page = speechService.getAllSpeeches(null, null, null, null);
 
-        verify(speechRepository).findAll();
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(), any());
+        verify(speechRepository, never()).findAll();
+        assertNull(page.nextCursor());
     }
 
     @Test
-    void shouldCallFindByIdOnGetSpeechById() {
+    void shouldReturnNextCursorWhenMoreSpeechesExist() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L), viewWithId(2L)));
+
+        CursorPage<SpeechDTO> page = speechService.getAllSpeeches(null, 1, null, null);
+
+        assertEquals(1, page.items().size());
+        assertEquals(1L, SpeechCursor.decode(page.nextCursor()).id());
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionForInvalidCursor() {
+        assertThrows(BadRequestException.class, () -> speechService.getAllSpeeches("not-a-cursor", null, null, null));
+        verify(speechRepository, never()).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionForNonPositiveLimit() {
+        assertThrows(BadRequestException.class, () -> speechService.getAllSpeeches(null, 0, null, null));
+    }
+
+    @Test
+    void shouldFetchSpeechWithKeywordsOnGetSpeechById() {
         Long speechId = 1L;
-        when(speechRepository.findById(speechId)).thenReturn(Optional.of(new Speech()));
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(speechId)));
 
         speechService.getSpeechById(speechId);
 
-        verify(speechRepository).findById(speechId);
+        verify(speechRepository).findViews(any(Specification.class), any(), eq(1), any());
+        verify(speechRepository, never()).findById(speechId);
+    }
+
+    @Test
+    void shouldServeRepeatedGetSpeechByIdFromCache() {
+        Long speechId = 1L;
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(speechId)));
+
+        speechService.getSpeechById(speechId);
+        speechService.getSpeechById(speechId);
+
+        verify(speechRepository, times(1)).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldReloadSpeechAfterChangeEvent() {
+        Long speechId = 1L;
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(speechId)));
+
+        speechService.getSpeechById(speechId);
+        speechCache.onSpeechChanged(SpeechChangedEvent.updated(SpeechChangedEvent.Snapshot.of(new Speech()), speechWithId(speechId)));
+        speechService.getSpeechById(speechId);
+
+        verify(speechRepository, times(2)).findViews(any(Specification.class), any(), anyInt(), any());
     }
 
     @Test
     void shouldThrowNotFoundExceptionWhenGetSpeechByIdNotFound() {
         Long speechId = 1L;
-        when(speechRepository.findById(speechId)).thenReturn(Optional.empty());
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of());
 
         assertThrows(NotFoundException.class, () -> speechService.getSpeechById(speechId));
-        verify(speechRepository).findById(speechId);
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldReadSpeechVersionFromTheDatabaseUntilTheSpeechIsCached() {
+        Long speechId = 1L;
+        OffsetDateTime updated = OffsetDateTime.parse("2024-01-01T10:00:00.123456Z");
+        when(speechRepository.findVersion(any(Specification.class))).thenReturn(new SpeechVersion(updated, 1));
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(
+                new SpeechView(speechId, "content", null, "author", Set.of(), updated, updated, updated, 0L)));
+
+        SpeechVersion fromDatabase = speechService.getSpeechVersion(speechId);
+        speechService.getSpeechById(speechId);
+        SpeechVersion fromCache = speechService.getSpeechVersion(speechId);
+
+        verify(speechRepository, times(1)).findVersion(any(Specification.class));
+        assertEquals(fromDatabase.speechEtag(speechId), fromCache.speechEtag(speechId));
+        assertEquals(fromDatabase.lastModifiedMillis(), fromCache.lastModifiedMillis());
+    }
+
+    @Test
+    void shouldChangePageEtagWhenAnythingOnThePageChanges() {
+        OffsetDateTime updated = OffsetDateTime.parse("2024-01-01T10:00:00.123456Z");
+        CursorPage<SpeechDTO> page = new CursorPage<>(List.of(dto(1L, 0L, updated), dto(2L, 0L, updated)), "next");
+        String etag = SpeechPageVersion.etag(page);
+
+        assertEquals(etag, SpeechPageVersion.etag(new CursorPage<>(List.of(dto(1L, 0L, updated), dto(2L, 0L, updated)), "next")));
+        assertNotEquals(etag, SpeechPageVersion.etag(new CursorPage<>(List.of(dto(1L, 0L, updated)), "next")));
+        assertNotEquals(etag, SpeechPageVersion.etag(new CursorPage<>(List.of(dto(1L, 0L, updated), dto(2L, 1L, updated)), "next")));
+        assertNotEquals(etag, SpeechPageVersion.etag(new CursorPage<>(List.of(dto(1L, 0L, updated), dto(2L, 0L, updated)), null)));
+        assertNotEquals(etag, SpeechPageVersion.etag(page.withFacets(Map.of("year", List.of(new FacetCountDTO("2024", 2))))));
+        assertEquals(updated.toInstant().toEpochMilli(), SpeechPageVersion.lastModifiedMillis(page));
+        assertEquals(-1L, SpeechPageVersion.lastModifiedMillis(new CursorPage<SpeechDTO>(List.of(), null)));
     }
 
     @Test
@@ -63,11 +202,11 @@ public class SpeechServiceTest {
         OffsetDateTime startDate = OffsetDateTime.now();
         OffsetDateTime endDate = OffsetDateTime.now().plusDays(1);
         Set<String> keywords = Set.of("keyword");
-        when(speechRepository.findAll(any(Specification.class))).thenReturn(Collections.singletonList(new Speech()));
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
 
-        speechService.searchSpeeches(author, snippet, startDate, endDate, keywords);
+        speechService.searchSpeeches(author, snippet, startDate, endDate, keywords, null, null, null, null, null, null, null);
 
-        verify(speechRepository).findAll(any(Specification.class));
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(), any());
     }
 
     @Test
@@ -77,12 +216,205 @@ public class SpeechServiceTest {
         OffsetDateTime startDate = OffsetDateTime.now();
         OffsetDateTime endDate = OffsetDateTime.now().plusDays(1);
         Set<String> keywords = Set.of("keyword");
-        when(speechRepository.findAll(any(Specification.class))).thenReturn(Collections.emptyList());
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(Collections.emptyList());
 
         assertThrows(NotFoundException.class, () ->
-                speechService.searchSpeeches(author, snippet, startDate, endDate, keywords));
+                speechService.searchSpeeches(author, snippet, startDate, endDate, keywords, null, null, null, null, null, null, null));
 
-        verify(speechRepository).findAll(any(Specification.class));
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldServeEquivalentSearchCriteriaFromCache() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        speechService.searchSpeeches("John", null, null, null, Set.of("Peace", "economy"), null, null, null, null, null, null, null);
+        speechService.searchSpeeches("JOHN", " ", null, null, Set.of("ECONOMY", "peace"), null, null, null, null, null, null, null);
+
+        verify(speechRepository, times(1)).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldTreatSameInstantInDifferentOffsetsAsSameSearch() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        speechService.searchSpeeches(null, null, OffsetDateTime.parse("2023-01-01T10:00:00Z"),
+                OffsetDateTime.parse("2023-02-01T10:00:00Z"), null, null, null, null, null, null, null, null);
+        speechService.searchSpeeches(null, null, OffsetDateTime.parse("2023-01-01T18:00:00+08:00"),
+                OffsetDateTime.parse("2023-02-01T18:00:00+08:00"), null, null, null, null, null, null, null, null);
+
+        verify(speechRepository, times(1)).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldSearchAgainAfterAnyCommittedWrite() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        speechService.searchSpeeches("John", null, null, null, null, null, null, null, null, null, null, null);
+        speechSearchCache.onSpeechChanged(SpeechChangedEvent.created(speechWithId(2L)));
+        speechService.searchSpeeches("John", null, null, null, null, null, null, null, null, null, null, null);
+
+        verify(speechRepository, times(2)).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldTagQueryMetricsWithTheActiveFilters() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        speechService.searchSpeeches("John", " ", null, OffsetDateTime.parse("2023-02-01T10:00:00Z"),
+                Set.of("economy"), null, null, null, null, null, null, null);
+
+        assertEquals(1, meterRegistry.get("speech.query")
+                .tags("query", "search", "filters", "author,keywords").timer().count());
+        assertEquals(1.0, meterRegistry.get("speech.query.rows")
+                .tags("query", "search", "filters", "author,keywords").summary().totalAmount());
+    }
+
+    @Test
+    void shouldNotQueryWhenKeywordIndexFindsNoMatch() {
+        when(keywordIndex.match(List.of("peace", "unknown"), KeywordMatch.ALL)).thenReturn(Optional.of(new long[0]));
+
+        assertThrows(NotFoundException.class, () -> speechService.searchSpeeches(
+                null, null, null, null, Set.of("Peace", "unknown"), KeywordMatch.ALL, null, null, null, null, null, null));
+
+        verify(speechRepository, never()).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldQueryByIdsWhenKeywordIndexResolvesKeywords() {
+        when(keywordIndex.match(List.of("peace"), KeywordMatch.ANY)).thenReturn(Optional.of(new long[]{1L, 7L}));
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        CursorPage<SpeechDTO> page = speechService.searchSpeeches(
+                null, null, null, null, Set.of("peace"), KeywordMatch.ANY, null, null, null, null, null, null);
+
+        assertEquals(1, page.items().size());
+        verify(keywordIndex).match(List.of("peace"), KeywordMatch.ANY);
+    }
+
+    @Test
+    void shouldCacheAnyAndAllKeywordSearchesSeparately() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        speechService.searchSpeeches(null, null, null, null, Set.of("peace", "economy"), KeywordMatch.ANY, null, null, null, null, null, null);
+        speechService.searchSpeeches(null, null, null, null, Set.of("peace", "economy"), KeywordMatch.ALL, null, null, null, null, null, null);
+        speechService.searchSpeeches(null, null, null, null, Set.of("peace", "economy"), null, null, null, null, null, null, null);
+
+        verify(speechRepository, times(2)).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldCountFacetsOverTheKeywordMatchWithoutAnotherQuery() {
+        when(keywordIndex.match(List.of("peace"), KeywordMatch.ANY)).thenReturn(Optional.of(new long[]{1L, 7L}));
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+        Map<String, List<FacetCountDTO>> counts = Map.of("year", List.of(new FacetCountDTO("2023", 2)));
+        when(facetIndex.count(eq(EnumSet.of(SearchFacet.YEAR)), any(), argThat(ids -> ids.getLongCardinality() == 2), eq(5)))
+                .thenReturn(counts);
+
+        CursorPage<SpeechDTO> page = speechService.searchSpeeches(
+                null, null, null, null, Set.of("peace"), KeywordMatch.ANY, null, 1, Set.of(" Year"), 5, null, null);
+
+        assertEquals(counts, page.facets());
+        verify(speechRepository, never()).streamIds(any(Specification.class), anyInt());
+    }
+
+    @Test
+    void shouldCountFacetsOverTheIdsMatchingOtherFilters() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+        when(speechRepository.streamIds(any(Specification.class), anyInt())).thenReturn(Stream.of(1L, 4L, 9L));
+
+        speechService.searchSpeeches("John", null, null, null, null, null, null, null, Set.of("author", "keywords"), null, null, null);
+
+        verify(facetIndex).count(eq(EnumSet.of(SearchFacet.KEYWORDS, SearchFacet.AUTHOR)), any(),
+                argThat(ids -> ids.getLongCardinality() == 3), eq(DEFAULT_FACET_LIMIT));
+    }
+
+    @Test
+    void shouldCountFacetsOncePerSearchWhateverTheLimitAndView() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+        when(speechRepository.streamIds(any(Specification.class), anyInt())).thenAnswer(invocation -> Stream.of(1L, 4L));
+        Map<String, List<FacetCountDTO>> counts = Map.of("author", List.of(new FacetCountDTO("john", 2)));
+        when(facetIndex.count(any(), any(), any(), anyInt())).thenReturn(counts);
+
+        speechService.searchSpeeches("John", null, null, null, null, null, null, 1, Set.of("author"), null, null, null);
+        CursorPage<SpeechDTO> page = speechService.searchSpeeches(
+                "john", null, null, null, null, null, null, 2, Set.of("author"), null, SpeechRepresentation.SUMMARY, null);
+
+        assertEquals(counts, page.facets());
+        verify(speechRepository, times(2)).findViews(any(Specification.class), any(), anyInt(), any());
+        verify(speechRepository).streamIds(any(Specification.class), anyInt());
+        verify(facetIndex).count(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldLeaveFacetsToTheFirstPage() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+        String cursor = SpeechCursor.of(viewWithId(2L)).encode();
+
+        CursorPage<SpeechDTO> page = speechService.searchSpeeches(
+                "John", null, null, null, null, null, cursor, 1, Set.of("author"), null, null, null);
+
+        assertNull(page.facets());
+        verify(speechRepository, never()).streamIds(any(Specification.class), anyInt());
+        verifyNoInteractions(facetIndex);
+    }
+
+    @Test
+    void shouldRejectUnknownFacets() {
+        assertThrows(BadRequestException.class, () -> speechService.searchSpeeches(
+                "John", null, null, null, null, null, null, null, Set.of("color"), null, null, null));
+        verify(speechRepository, never()).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldSelectOnlyACappedExcerptForSummaries() {
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L)));
+
+        speechService.getAllSpeeches(null, null, SpeechRepresentation.SUMMARY, null);
+        speechService.searchSpeeches("John", null, null, null, null, null, null, null, null, null,
+                SpeechRepresentation.SUMMARY, 5000);
+        // the same criteria with full content are another cache entry
+        speechService.searchSpeeches("John", null, null, null, null, null, null, null, null, null, null, null);
+
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(), eq(ContentSelection.NONE));
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(),
+                eq(ContentSelection.excerpt(MAX_EXCERPT_LENGTH)));
+        verify(speechRepository).findViews(any(Specification.class), any(), anyInt(), eq(ContentSelection.FULL));
+    }
+
+    @Test
+    void shouldRejectAnExcerptLengthOutsideSummaries() {
+        assertThrows(BadRequestException.class, () -> speechService.getAllSpeeches(null, null, null, 100));
+        assertThrows(BadRequestException.class, () -> speechService.searchSpeeches(
+                "John", null, null, null, null, null, null, null, null, null, SpeechRepresentation.SUMMARY, 0));
+        verify(speechRepository, never()).findViews(any(Specification.class), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldReturnFullTextHitsInRankOrder() {
+        when(speechRepository.searchFullText("rights", DEFAULT_PAGE_LIMIT, false)).thenReturn(List.of(
+                new FullTextMatch(2L, 0.9f, null),
+                new FullTextMatch(1L, 0.1f, null)));
+        when(speechRepository.findViews(any(Specification.class), any(), anyInt(), any())).thenReturn(List.of(viewWithId(1L), viewWithId(2L)));
+
+        List<FullTextHitDTO> hits = speechService.searchFullText("rights", null, false);
+
+        assertEquals(2, hits.size());
+        assertEquals(2L, hits.get(0).getSpeech().getId());
+        assertEquals(1L, hits.get(1).getSpeech().getId());
+    }
+
+    @Test
+    void shouldThrowBadRequestExceptionForBlankFullTextQuery() {
+        assertThrows(BadRequestException.class, () -> speechService.searchFullText(" ", null, false));
+        verify(speechRepository, never()).searchFullText(any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void shouldThrowNotFoundExceptionWhenNoFullTextMatches() {
+        when(speechRepository.searchFullText("nothing", DEFAULT_PAGE_LIMIT, false)).thenReturn(Collections.emptyList());
+
+        assertThrows(NotFoundException.class, () -> speechService.searchFullText("nothing", null, false));
     }
 
     @Test
@@ -97,6 +429,21 @@ public class SpeechServiceTest {
         verify(speechRepository).save(any(Speech.class));
     }
 
+    @Test
+    void shouldEnsureTheYearPartitionBeforeTheWriteTransactionOpens() {
+        SpeechDTO speechDTO = new SpeechDTO();
+        speechDTO.setSpeechDate(SPEECH_DATE);
+        when(speechRepository.save(any(Speech.class))).thenReturn(new Speech());
+        doReturn(Optional.empty()).when(speechRepository).findOne(any(Specification.class));
+
+        speechService.saveSpeech(speechDTO);
+
+        InOrder order = inOrder(partitions, transactionManager, speechRepository);
+        order.verify(partitions).ensureFor(SPEECH_DATE);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(speechRepository).save(any(Speech.class));
+    }
+
     @Test
     void shouldThrowDuplicateSpeechExceptionOnSaveSpeechIfDuplicateExists() {
         SpeechDTO speechDTO = new SpeechDTO();
@@ -111,7 +458,9 @@ public class SpeechServiceTest {
     void shouldCallFindByIdAndSaveOnUpdateSpeech() {
         Long speechId = 1L;
         UpdateSpeechDTO updateSpeechDTO = new UpdateSpeechDTO();
-        Speech speech = new Speech();
+        updateSpeechDTO.setKeywords(Set.of("economy"));
+        Speech speech = speechWithId(speechId);
+        speech.setKeywords(Set.of("peace"));
         when(speechRepository.findById(speechId)).thenReturn(Optional.of(speech));
         doReturn(Optional.empty()).when(speechRepository).findOne(any(Specification.class));
         when(speechRepository.save(any(Speech.class))).thenReturn(speech);
@@ -120,6 +469,8 @@ public class SpeechServiceTest {
 
         verify(speechRepository).findById(speechId);
         verify(speechRepository).save(any(Speech.class));
+        verify(eventPublisher).publishEvent(new SpeechChangedEvent(SpeechChangedEvent.Type.UPDATED, speechId,
+                new SpeechChangedEvent.Snapshot(null, Set.of("peace"), SPEECH_DATE), new SpeechChangedEvent.Snapshot(null, Set.of("economy"), null)));
     }
 
     @Test
@@ -148,23 +499,125 @@ public class SpeechServiceTest {
     }
 
     @Test
-    void shouldCallExistsByIdAndDeleteForDeleteSpeech() {
+    void shouldCallFindByIdAndDeleteForDeleteSpeech() {
         Long speechId = 1L;
-        when(speechRepository.existsById(speechId)).thenReturn(true);
+        Speech speech = speechWithId(speechId);
+        speech.setKeywords(Set.of("peace"));
+        when(speechRepository.findById(speechId)).thenReturn(Optional.of(speech));
 
         speechService.deleteSpeech(speechId);
 
-        verify(speechRepository).existsById(speechId);
-        verify(speechRepository).deleteById(speechId);
+        verify(speechRepository).findById(speechId);
+        verify(speechRepository).delete(speech);
+        verify(eventPublisher).publishEvent(new SpeechChangedEvent(SpeechChangedEvent.Type.DELETED, speechId,
+                new SpeechChangedEvent.Snapshot(null, Set.of("peace"), SPEECH_DATE), null));
     }
 
     @Test
     void shouldThrowNotFoundExceptionIfSpeechDoesNotExistOnDeleteSpeech() {
         Long speechId = 1L;
-        when(speechRepository.existsById(speechId)).thenReturn(false);
+        when(speechRepository.findById(speechId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> speechService.deleteSpeech(speechId));
-        verify(speechRepository).existsById(speechId);
-        verify(speechRepository, never()).deleteById(speechId);
+        verify(speechRepository).findById(speechId);
+        verify(speechRepository, never()).delete(any(Speech.class));
+    }
+
+    @Test
+    void shouldApplyKeywordDeltasToTheLoadedSpeechOnPatch() {
+        Long speechId = 1L;
+        Speech speech = patchableSpeech(speechId);
+        Object loadedKeywords = ReflectionTestUtils.getField(speech, "keywordRows");
+        when(speechRepository.findById(speechId)).thenReturn(Optional.of(speech));
+        doReturn(Optional.empty()).when(speechRepository).findOne(any(Specification.class));
+        when(speechRepository.save(any(Speech.class))).thenReturn(speech);
+
+        PatchSpeechDTO patch = new PatchSpeechDTO();
+        patch.setVersion(3L);
+        patch.setAddKeywords(Set.of("Hope"));
+        patch.setRemoveKeywords(Set.of("war"));
+        SpeechDTO patched = speechService.patchSpeech(speechId, patch);
+
+        // the collection Hibernate loaded is changed in place, not replaced
+        assertSame(loadedKeywords, ReflectionTestUtils.getField(speech, "keywordRows"));
+        assertEquals(Set.of("peace", "hope"), patched.getKeywords());
+        assertEquals("content", patched.getContent());
+        verify(speechRepository).findOne(any(Specification.class));
+        verify(speechRepository).flush();
+        verify(eventPublisher).publishEvent(new SpeechChangedEvent(SpeechChangedEvent.Type.UPDATED, speechId,
+                new SpeechChangedEvent.Snapshot("author", Set.of("peace", "war"), SPEECH_DATE),
+                new SpeechChangedEvent.Snapshot("author", Set.of("peace", "hope"), SPEECH_DATE)));
+    }
+
+    @Test
+    void shouldRejectPatchBasedOnAnOutdatedVersion() {
+        Long speechId = 1L;
+        when(speechRepository.findById(speechId)).thenReturn(Optional.of(patchableSpeech(speechId)));
+
+        PatchSpeechDTO patch = new PatchSpeechDTO();
+        patch.setVersion(2L);
+        patch.setContent("changed");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> speechService.patchSpeech(speechId, patch));
+        verify(speechRepository, never()).save(any(Speech.class));
+    }
+
+    @Test
+    void shouldNotWriteOrCheckDuplicatesWhenPatchChangesNothing() {
+        Long speechId = 1L;
+        when(speechRepository.findById(speechId)).thenReturn(Optional.of(patchableSpeech(speechId)));
+
+        PatchSpeechDTO patch = new PatchSpeechDTO();
+        patch.setVersion(3L);
+        patch.setAuthor("author");
+        patch.setAddKeywords(Set.of("PEACE"));
+        speechService.patchSpeech(speechId, patch);
+
+        verify(speechRepository, never()).findOne(any(Specification.class));
+        verify(speechRepository, never()).save(any(Speech.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRejectPatchRemovingEveryKeyword() {
+        Long speechId = 1L;
+        when(speechRepository.findById(speechId)).thenReturn(Optional.of(patchableSpeech(speechId)));
+
+        PatchSpeechDTO patch = new PatchSpeechDTO();
+        patch.setVersion(3L);
+        patch.setRemoveKeywords(Set.of("peace", "war"));
+
+        assertThrows(BadRequestException.class, () -> speechService.patchSpeech(speechId, patch));
+        verify(speechRepository, never()).save(any(Speech.class));
+    }
+
+    private static SpeechView viewWithId(Long id) {
+        return new SpeechView(id, "content", null, "author", Set.of(), OffsetDateTime.parse("2023-01-01T10:00:00Z"), null, null, 0L);
+    }
+
+    private static SpeechDTO dto(Long id, Long version, OffsetDateTime updated) {
+        SpeechDTO speech = new SpeechDTO();
+        speech.setId(id);
+        speech.setVersion(version);
+        speech.setUpdateDateTime(updated);
+        return speech;
+    }
+
+    private static Speech speechWithId(Long id) {
+        Speech speech = new Speech();
+        speech.setId(id);
+        speech.setSpeechDate(SPEECH_DATE);
+        return speech;
+    }
+
+    // as loaded by Hibernate, with a mutable keyword collection and its fingerprint
+    private static Speech patchableSpeech(Long id) {
+        Speech speech = speechWithId(id);
+        speech.setContent("content");
+        speech.setAuthor("author");
+        speech.setKeywords(new HashSet<>(Set.of("peace", "war")));
+        speech.setVersion(3L);
+        speech.refreshContentFingerprint();
+        return speech;
     }
-}
\ No newline at end of file
+}